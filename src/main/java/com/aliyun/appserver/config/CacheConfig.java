@@ -0,0 +1,83 @@
+package com.aliyun.appserver.config;
+
+import com.aliyun.appserver.support.SharedCacheTier;
+import com.aliyun.appserver.support.TwoLevelCache;
+import com.aliyuncs.vod.model.v20170321.GetPlaylistResponse;
+import com.aliyuncs.vod.model.v20170321.GetPlaylistsResponse;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 本地缓存配置
+ *
+ * <p>
+ * 基于 Caffeine（W-TinyLFU 淘汰策略）为 VOD OpenAPI 的读结果提供容量有界、带过期时间的进程内缓存，
+ * 通过 {@code @Cacheable} / {@code @CacheEvict} 声明在 {@code VodSdkServiceImpl} 上。
+ * </p>
+ *
+ * <p>
+ * 所有缓存均开启统计，由 Actuator 自动注册 {@code cache.gets{result=hit|miss}}、
+ * {@code cache.evictions}、{@code cache.size} 等指标。
+ * </p>
+ *
+ * <p>
+ * 开启共享缓存（{@code aliyun.vod.shared-cache.enabled}）时，每个缓存在本地缓存之后再经过一层 Redis
+ * （{@link TwoLevelCache}），多个实例共享上游查询结果。
+ * </p>
+ *
+ * @author: pxc
+ * @date: 2026/10/17 13:40
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /**
+     * 单个播单详情（GetPlaylist），key 为播单 ID
+     */
+    public static final String PLAYLIST = "vod.playlist";
+
+    /**
+     * 播单列表分页（GetPlaylists），key 为分页与排序参数
+     */
+    public static final String PLAYLISTS = "vod.playlists";
+
+    @Bean
+    public CacheManager cacheManager(VodConfig vodConfig, ObjectProvider<SharedCacheTier> sharedCacheTier) {
+        SharedCacheTier shared = sharedCacheTier.getIfAvailable();
+        if (shared != null) {
+            SimpleCacheManager cacheManager = new SimpleCacheManager();
+            cacheManager.setCaches(Arrays.asList(
+                    twoLevelCache(PLAYLIST, vodConfig.getCache().getPlaylist(), GetPlaylistResponse.class, shared),
+                    twoLevelCache(PLAYLISTS, vodConfig.getCache().getPlaylists(), GetPlaylistsResponse.class, shared)));
+            return cacheManager;
+        }
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(PLAYLIST, buildCache(vodConfig.getCache().getPlaylist()));
+        cacheManager.registerCustomCache(PLAYLISTS, buildCache(vodConfig.getCache().getPlaylists()));
+        return cacheManager;
+    }
+
+    private static TwoLevelCache twoLevelCache(String name, VodConfig.CacheSpec spec, Class<?> valueType, SharedCacheTier shared) {
+        return new TwoLevelCache(new CaffeineCache(name, buildCache(spec)), shared, valueType, spec.getTtlSeconds());
+    }
+
+    private static com.github.benmanes.caffeine.cache.Cache<Object, Object> buildCache(VodConfig.CacheSpec spec) {
+        return Caffeine.newBuilder()
+                .maximumSize(spec.getMaximumSize())
+                .expireAfterWrite(spec.getTtlSeconds(), TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+    }
+}
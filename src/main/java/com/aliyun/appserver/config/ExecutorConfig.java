@@ -0,0 +1,141 @@
+package com.aliyun.appserver.config;
+
+import com.aliyun.appserver.support.DeadlinePropagatingExecutorService;
+import com.aliyun.appserver.support.PinnedThreadMonitor;
+import com.aliyun.appserver.support.VirtualThreadExecutor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 线程池配置
+ *
+ * <p>
+ * 提供访问 VOD OpenAPI 专用的有界 I/O 线程池 {@link #VOD_IO_EXECUTOR}，
+ * 播单聚合等需要并发调用上游接口的场景统一使用该线程池，
+ * 而不是默认的 {@code ForkJoinPool.commonPool()}。
+ * </p>
+ *
+ * <p><b>暴露的指标（Micrometer）：</b></p>
+ * <ul>
+ *     <li>{@code executor.*}：普通线程池模式下的线程数、活跃数、队列长度、任务耗时等</li>
+ *     <li>{@code vod.executor.queued}：等待执行的任务数</li>
+ *     <li>{@code vod.executor.active}：正在执行的任务数</li>
+ *     <li>{@code vod.executor.rejected}：被拒绝（退化为由提交线程执行）的任务数</li>
+ *     <li>{@code vod.virtual.pinned}、{@code vod.virtual.pinned.duration}：虚拟线程模式下线程被钉住的次数与时长</li>
+ * </ul>
+ *
+ * @author: pxc
+ * @date: 2026/10/17 10:05
+ */
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * VOD I/O 线程池 Bean 名称
+     */
+    public static final String VOD_IO_EXECUTOR = "vodIoExecutor";
+
+    private static final String EXECUTOR_NAME = "vod-io";
+
+    private static final Logger log = LoggerFactory.getLogger(ExecutorConfig.class);
+
+    /**
+     * 访问 VOD OpenAPI 的有界 I/O 线程池
+     *
+     * <p>
+     * 默认为有界队列的普通线程池；当配置 {@code aliyun.vod.executor.virtual-threads=true}
+     * 且运行在 JDK 21+ 时，切换为基于虚拟线程的执行器（仍受 {@code max-pool-size} 并发上限约束）。
+     * </p>
+     *
+     * <p>线程池饱和时，任务由提交线程直接执行（CallerRuns），以形成背压而不是丢弃请求；
+     * 线程池关闭后提交的任务抛出 {@link RejectedExecutionException}。</p>
+     *
+     * <p>提交的任务继承提交线程的请求截止时间（{@link com.aliyun.appserver.support.Deadline}）。</p>
+     */
+    @Bean(name = VOD_IO_EXECUTOR, destroyMethod = "shutdown")
+    public ExecutorService vodIoExecutor(VodConfig vodConfig, MeterRegistry meterRegistry) {
+        VodConfig.Executor config = vodConfig.getExecutor();
+        Tags tags = Tags.of("name", EXECUTOR_NAME);
+
+        if (config.isVirtualThreads()) {
+            if (VirtualThreadExecutor.isSupported()) {
+                VirtualThreadExecutor executor = new VirtualThreadExecutor(config.getThreadNamePrefix(), config.getMaxPoolSize());
+                Gauge.builder("vod.executor.queued", executor, VirtualThreadExecutor::getQueuedTaskCount)
+                        .tags(tags).description("等待执行的任务数").register(meterRegistry);
+                Gauge.builder("vod.executor.active", executor, VirtualThreadExecutor::getActiveCount)
+                        .tags(tags).description("正在执行的任务数").register(meterRegistry);
+                log.info("VOD I/O 线程池使用虚拟线程模式，最大并发: {}", config.getMaxPoolSize());
+                return new DeadlinePropagatingExecutorService(executor);
+            }
+            log.warn("当前 JDK 不支持虚拟线程，VOD I/O 线程池回退为普通线程池");
+        }
+
+        Counter rejected = Counter.builder("vod.executor.rejected")
+                .tags(tags).description("被拒绝并由提交线程执行的任务数").register(meterRegistry);
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                config.getCorePoolSize(),
+                Math.max(config.getCorePoolSize(), config.getMaxPoolSize()),
+                config.getKeepAliveSeconds(), TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, config.getQueueCapacity())),
+                namedThreadFactory(config.getThreadNamePrefix()),
+                (task, pool) -> {
+                    // 已关闭时直接拒绝，使 supplyAsync 等调用方立即失败，而不是等待永远不会完成的 Future
+                    if (pool.isShutdown()) {
+                        throw new RejectedExecutionException("VOD I/O 线程池已关闭");
+                    }
+                    rejected.increment();
+                    task.run();
+                });
+
+        Gauge.builder("vod.executor.queued", executor, pool -> pool.getQueue().size())
+                .tags(tags).description("等待执行的任务数").register(meterRegistry);
+        Gauge.builder("vod.executor.active", executor, ThreadPoolExecutor::getActiveCount)
+                .tags(tags).description("正在执行的任务数").register(meterRegistry);
+
+        log.info("VOD I/O 线程池初始化完成，core: {}, max: {}, queue: {}",
+                config.getCorePoolSize(), config.getMaxPoolSize(), config.getQueueCapacity());
+        return new DeadlinePropagatingExecutorService(ExecutorServiceMetrics.monitor(meterRegistry, executor, EXECUTOR_NAME));
+    }
+
+    /**
+     * 虚拟线程钉住诊断
+     *
+     * <p>VOD I/O 线程池或 Tomcat 请求线程任一使用虚拟线程、且运行在 JDK 21+ 时开始记录；
+     * 在 synchronized 块内执行阻塞调用会导致载体线程被占用，诊断日志给出对应的调用栈。</p>
+     */
+    @Bean(destroyMethod = "close")
+    public PinnedThreadMonitor pinnedThreadMonitor(VodConfig vodConfig, MeterRegistry meterRegistry) {
+        VodConfig.VirtualThreads config = vodConfig.getVirtualThreads();
+        PinnedThreadMonitor monitor = new PinnedThreadMonitor(config.getPinnedThresholdMillis(), meterRegistry);
+        boolean virtualThreads = vodConfig.getExecutor().isVirtualThreads() || config.isTomcat();
+        if (virtualThreads && config.isPinnedDiagnostics() && VirtualThreadExecutor.isSupported()) {
+            monitor.start();
+        }
+        return monitor;
+    }
+
+    private static ThreadFactory namedThreadFactory(String prefix) {
+        AtomicInteger index = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + index.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
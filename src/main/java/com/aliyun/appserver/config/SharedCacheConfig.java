@@ -0,0 +1,64 @@
+package com.aliyun.appserver.config;
+
+import com.aliyun.appserver.support.SharedCacheInvalidator;
+import com.aliyun.appserver.support.SharedCacheTier;
+import com.aliyun.appserver.support.TwoLevelCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * 共享缓存（Redis 二级缓存）配置
+ *
+ * <p>
+ * 仅在 {@code aliyun.vod.shared-cache.enabled=true} 时生效，Redis 连接使用 Spring Boot 的 {@code spring.redis.*} 配置。
+ * {@link CacheConfig} 与 {@code MediaInfoServiceImpl} 在存在 {@link SharedCacheTier} 时启用二级缓存。
+ * </p>
+ *
+ * @author: pxc
+ * @date: 2026/10/17 23:00
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "aliyun.vod.shared-cache", name = "enabled", havingValue = "true")
+public class SharedCacheConfig {
+
+    @Bean
+    public SharedCacheTier sharedCacheTier(RedisConnectionFactory connectionFactory, VodConfig vodConfig, MeterRegistry meterRegistry) {
+        return new SharedCacheTier(connectionFactory, vodConfig.getSharedCache(), meterRegistry);
+    }
+
+    @Bean
+    public SharedCacheInvalidator sharedCacheInvalidator(SharedCacheTier sharedCacheTier, CacheManager cacheManager,
+                                                         ApplicationEventPublisher eventPublisher) {
+        return new SharedCacheInvalidator(sharedCacheTier, cacheManager, eventPublisher);
+    }
+
+    /**
+     * 订阅缓存失效通知；Redis 不可用时由容器在后台重试订阅
+     */
+    @Bean
+    public RedisMessageListenerContainer sharedCacheListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                      SharedCacheInvalidator sharedCacheInvalidator,
+                                                                      VodConfig vodConfig) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(sharedCacheInvalidator, new ChannelTopic(vodConfig.getSharedCache().getChannel()));
+        return container;
+    }
+
+    /**
+     * 两级缓存的本地部分仍由 Actuator 注册 {@code cache.*} 指标
+     */
+    @Bean
+    public CacheMeterBinderProvider<TwoLevelCache> twoLevelCacheMeterBinderProvider() {
+        return (cache, tags) -> new CaffeineCacheMetrics(cache.getNativeCache(), cache.getName(), tags);
+    }
+}
@@ -0,0 +1,64 @@
+package com.aliyun.appserver.config;
+
+import com.aliyun.appserver.support.VirtualThreadExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Tomcat 虚拟线程配置
+ *
+ * <p>
+ * 配置 {@code aliyun.vod.virtual-threads.tomcat=true} 且运行在 JDK 21+ 时，
+ * 将 Tomcat 连接器的请求处理线程池替换为"每个请求一个虚拟线程"的执行器：
+ * 请求在等待 VOD OpenAPI 响应时挂起虚拟线程而不占用平台线程，单实例可承载的并发请求数不再受
+ * {@code server.tomcat.threads.max} 限制。接收连接与 I/O 轮询线程仍为平台线程。
+ * </p>
+ *
+ * <p>低版本 JDK 下记录告警并保持默认线程池。</p>
+ *
+ * @author: pxc
+ * @date: 2026/10/17 21:10
+ */
+@Configuration
+public class TomcatVirtualThreadConfig implements DisposableBean {
+
+    private static final String THREAD_NAME_PREFIX = "http-vt-";
+
+    private static final Logger log = LoggerFactory.getLogger(TomcatVirtualThreadConfig.class);
+
+    /**
+     * 外部设置给 Tomcat 的执行器不会随连接器关闭，需要自行关闭
+     */
+    private volatile ExecutorService executor;
+
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> tomcatVirtualThreadCustomizer(VodConfig vodConfig) {
+        return factory -> {
+            if (!vodConfig.getVirtualThreads().isTomcat()) {
+                return;
+            }
+            if (!VirtualThreadExecutor.isSupported()) {
+                log.warn("当前 JDK 不支持虚拟线程，Tomcat 保持使用普通请求线程池");
+                return;
+            }
+            ExecutorService requestExecutor = VirtualThreadExecutor.newVirtualThreadPerTaskExecutor(THREAD_NAME_PREFIX);
+            this.executor = requestExecutor;
+            factory.addProtocolHandlerCustomizers(protocolHandler -> protocolHandler.setExecutor(requestExecutor));
+            log.info("Tomcat 请求处理使用虚拟线程模式");
+        };
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+}
@@ -1,10 +1,17 @@
 package com.aliyun.appserver.config;
 
+import com.aliyun.appserver.jwt.JwtConstants;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * 阿里云 VOD 基础配置
  *
@@ -19,12 +26,84 @@ import org.springframework.stereotype.Component;
  *     ak: ${ALIYUN_VOD_AK:}                    # AccessKey ID
  *     sk: ${ALIYUN_VOD_SK:}                    # AccessKey Secret
  *     region: ${ALIYUN_VOD_REGION:cn-shanghai} # 地域标识（Region ID）
+ *     executor:                                # 访问 VOD 的 I/O 线程池
+ *       core-pool-size: 16
+ *       max-pool-size: 64
+ *       queue-capacity: 256
+ *     virtual-threads:                         # Tomcat 请求线程的虚拟线程模式与钉住诊断（JDK 21+）
+ *       tomcat: false
+ *       pinned-threshold-millis: 20
+ *     http:                                    # VOD SDK 底层 HTTP 连接池
+ *       max-connections-per-route: 64
+ *       connect-timeout-millis: 3000
+ *       read-timeout-millis: 10000
+ *     cache:                                   # OpenAPI 读结果本地缓存
+ *       playlist:
+ *         maximum-size: 1000
+ *         ttl-seconds: 300
+ *       video:                                 # 按视频ID缓存 GetVideoInfos 结果
+ *         maximum-size: 10000
+ *         ttl-seconds: 600
+ *         negative-ttl-seconds: 60
+ *     shared-cache:                            # Redis 二级缓存与跨实例失效通知（默认关闭）
+ *       enabled: false
+ *       key-prefix: "vod:"
+ *     play-key:                                # 播放密钥（PlayKey）缓存与后台刷新
+ *       app-id: app-1000000
+ *       ttl-seconds: 600
+ *     play-auth-cache:                         # JWTPlayAuth 本地缓存（默认关闭）
+ *       enabled: false
+ *       maximum-size: 100000
+ *     streaming:                               # 播单详情视频列表流式输出
+ *       enabled: true
+ *       chunk-size: 200
+ *     etag:                                    # 播单接口 ETag / If-None-Match 条件请求
+ *       enabled: true
+ *       token-window-seconds: 600
+ *     snapshot:                                # 播单快照：后台同步，请求直接读取（默认关闭）
+ *       enabled: false
+ *       sync-interval-seconds: 60
+ *     single-flight:                           # 只读 OpenAPI 并发相同调用合并
+ *       enabled: true
+ *     batch:                                   # 视频 / 图片信息批量查询聚合
+ *       window-millis: 5
+ *       max-batch-size: 20
+ *     resilience:                              # 按 Action 的熔断器与舱壁隔离
+ *       circuit-breaker:
+ *         failure-rate-threshold: 50
+ *       bulkhead:
+ *         max-concurrent-calls: 32
+ *       retry:
+ *         max-attempts: 3
+ *       hedge:
+ *         enabled: false
+ *         actions: [GetPlaylist]
+ *       rate-limit:
+ *         default-qps: 100
+ *         actions:
+ *           GetPlaylist: 50
+ *     request-timeout:                         # 单个请求的处理时间预算
+ *       default-millis: 3000
+ *       max-millis: 10000
  * </pre>
  *
  * <p><b>配置说明：</b></p>
  * <ul>
  *     <li><b>ak / sk</b>：阿里云账号的 AccessKey，用于身份认证和签名</li>
  *     <li><b>region</b>：VOD 服务地域标识，必须与 VOD 控制台中开通服务的区域一致</li>
+ *     <li><b>executor</b>：播单聚合时并发调用 VOD OpenAPI 所使用的有界 I/O 线程池</li>
+ *     <li><b>virtual-threads</b>：JDK 21+ 下 Tomcat 请求处理是否运行在虚拟线程上，以及虚拟线程被钉住时的诊断</li>
+ *     <li><b>http</b>：VOD SDK 底层 HTTP 连接池、超时、空闲回收与启动预热配置</li>
+ *     <li><b>cache</b>：播单、视频 / 图片信息等 OpenAPI 读结果的本地缓存容量与过期时间</li>
+ *     <li><b>play-key</b>：播放密钥所属应用 ID，以及本地缓存、提前刷新与故障兜底时间</li>
+ *     <li><b>play-auth-cache</b>：已签发 JWTPlayAuth 的复用开关、容量与剩余有效期安全余量</li>
+ *     <li><b>streaming</b>：播单详情的视频列表是否按分片签名并直接写出，避免大播单一次性构建完整响应</li>
+ *     <li><b>etag</b>：播单接口按内容返回 ETag，请求携带匹配的 {@code If-None-Match} 时返回 304，跳过播放凭证签发与序列化</li>
+ *     <li><b>snapshot</b>：后台定期同步全部播单（含封面图地址与预览视频），播单接口直接读取快照并本地签发播放凭证</li>
+ *     <li><b>single-flight</b>：相同参数的并发只读调用（{@code Get*}）是否合并为一次上游请求</li>
+ *     <li><b>batch</b>：并发请求的视频 / 图片 ID 查询合并为一次批量调用的窗口与单批上限</li>
+ *     <li><b>resilience</b>：每个 OpenAPI Action 独立的限流、熔断器、并发舱壁，只读接口的退避重试、对冲请求与历史结果降级</li>
+ *     <li><b>request-timeout</b>：业务接口的端到端时间预算，可由客户端通过请求头指定，并传递到每次 OpenAPI 调用的读超时</li>
  * </ul>
  *
  * <p><b>支持的地域：</b></p>
@@ -82,4 +161,801 @@ public class VodConfig {
      * <p>默认值：cn-shanghai</p>
      */
     private String region = "cn-shanghai";
+
+    /**
+     * VOD 调用 I/O 线程池配置
+     *
+     * <p>播单聚合接口会并发发起多个阻塞的 OpenAPI 调用，统一提交到该线程池执行，
+     * 避免占用 {@code ForkJoinPool.commonPool()}（其大小与 CPU 核数绑定，不适合阻塞 I/O）。</p>
+     */
+    private Executor executor = new Executor();
+
+    /**
+     * VOD 调用 I/O 线程池配置项
+     */
+    @Setter
+    @Getter
+    public static class Executor {
+        /**
+         * 线程名前缀，便于在线程栈 / 监控中识别
+         */
+        private String threadNamePrefix = "vod-io-";
+
+        /**
+         * 核心线程数
+         */
+        private int corePoolSize = 16;
+
+        /**
+         * 最大线程数；虚拟线程模式下表示允许同时执行的最大任务数
+         */
+        private int maxPoolSize = 64;
+
+        /**
+         * 等待队列容量，队列满且线程数达到上限时触发拒绝策略（由提交线程直接执行）
+         */
+        private int queueCapacity = 256;
+
+        /**
+         * 非核心线程空闲存活时间（秒）
+         */
+        private int keepAliveSeconds = 60;
+
+        /**
+         * 是否启用虚拟线程模式
+         *
+         * <p>仅在 JDK 21+ 运行时生效，低版本 JDK 会自动回退为普通线程池。</p>
+         */
+        private boolean virtualThreads = false;
+    }
+
+    /**
+     * 虚拟线程运行模式配置
+     *
+     * <p>VOD I/O 线程池的虚拟线程模式见 {@link Executor#isVirtualThreads()}；
+     * 此处控制 Web 容器请求线程，以及两者共用的钉住（pinned）诊断。</p>
+     */
+    private VirtualThreads virtualThreads = new VirtualThreads();
+
+    /**
+     * 虚拟线程运行模式配置项
+     */
+    @Setter
+    @Getter
+    public static class VirtualThreads {
+        /**
+         * Tomcat 是否使用虚拟线程处理请求（每个请求一个虚拟线程）
+         *
+         * <p>仅在 JDK 21+ 运行时生效，低版本 JDK 保持原有的请求线程池。开启后 {@code server.tomcat.threads.max}
+         * 不再限制并发请求数，由 {@code server.tomcat.max-connections} 与 VOD 调用的舱壁 / 限流约束并发。</p>
+         */
+        private boolean tomcat = false;
+
+        /**
+         * 是否开启钉住诊断：任一虚拟线程模式开启时，通过 JFR 记录虚拟线程被钉住的次数、时长与调用栈
+         */
+        private boolean pinnedDiagnostics = true;
+
+        /**
+         * 钉住时长超过该值（毫秒）才记录
+         */
+        private long pinnedThresholdMillis = 20;
+    }
+
+    /**
+     * VOD SDK 底层 HTTP 传输配置
+     *
+     * <p>用于构建 SDK 的 {@code HttpClientConfig}，避免使用默认连接池参数导致高峰期连接不足、
+     * 频繁新建连接（TLS 握手）等问题。</p>
+     */
+    private Http http = new Http();
+
+    /**
+     * VOD SDK 底层 HTTP 传输配置项
+     */
+    @Setter
+    @Getter
+    public static class Http {
+        /**
+         * 单个路由（即 VOD 接入域名）的最大连接数
+         */
+        private int maxConnectionsPerRoute = 64;
+
+        /**
+         * 连接池最大连接数
+         */
+        private int maxConnections = 128;
+
+        /**
+         * 建连超时时间（毫秒）
+         */
+        private long connectTimeoutMillis = 3000;
+
+        /**
+         * 读超时时间（毫秒）
+         */
+        private long readTimeoutMillis = 10000;
+
+        /**
+         * 从连接池获取连接的最长等待时间（毫秒）
+         */
+        private long poolTimeoutMillis = 1000;
+
+        /**
+         * 空闲连接回收时间（毫秒），空闲超过该时间的连接会被后台线程关闭
+         */
+        private long maxIdleTimeMillis = 60000;
+
+        /**
+         * 连接保活时间（毫秒），服务端未返回 Keep-Alive 头时使用
+         */
+        private long keepAliveMillis = 300000;
+
+        /**
+         * 启动预热的连接数，应用就绪后并发发起轻量请求提前完成建连与 TLS 握手；0 表示不预热
+         */
+        private int warmupConnections = 4;
+    }
+
+    /**
+     * OpenAPI 读结果本地缓存配置
+     */
+    private Cache cache = new Cache();
+
+    /**
+     * OpenAPI 读结果本地缓存配置项
+     *
+     * <p>缓存会在播单写接口（更新 / 增删视频 / 删除播单等）调用后自动失效，
+     * 过期时间主要用于兜底控制台等外部渠道的修改。</p>
+     */
+    @Setter
+    @Getter
+    public static class Cache {
+        /**
+         * 单个播单详情（GetPlaylist）缓存
+         */
+        private CacheSpec playlist = new CacheSpec(1000, 300);
+
+        /**
+         * 播单列表分页（GetPlaylists）缓存
+         */
+        private CacheSpec playlists = new CacheSpec(200, 60);
+
+        /**
+         * 视频信息（GetVideoInfos）缓存，key 为视频ID
+         */
+        private CacheSpec video = new CacheSpec(10000, 600, 60);
+
+        /**
+         * 图片信息（GetImageInfos）缓存，key 为图片ID
+         *
+         * <p>开启 URL 鉴权时，图片地址带有过期时间，{@code ttl-seconds} 应小于鉴权有效期；
+         * 开启共享缓存时本地缓存可能再保留一个 {@code ttl-seconds}，应小于鉴权有效期的一半。</p>
+         */
+        private CacheSpec image = new CacheSpec(10000, 300, 60);
+
+        /**
+         * 播单扩展信息（PlaylistExtension）解析结果缓存，key 为 (playlistId, modifyTime)
+         *
+         * <p>播单修改后 modifyTime 随之变化，过期时间只用于回收不再访问的条目。</p>
+         */
+        private CacheSpec extension = new CacheSpec(10000, 3600);
+    }
+
+    /**
+     * 共享缓存（二级缓存）配置
+     */
+    private SharedCache sharedCache = new SharedCache();
+
+    /**
+     * 共享缓存（二级缓存）配置项
+     *
+     * <p>开启后 GetPlaylist / GetPlaylists / GetVideoInfos / GetImageInfos 的读结果在本地缓存之后再经过一层
+     * Redis 缓存，多个实例共享上游查询结果，过期时间与本地缓存相同；连接参数使用 {@code spring.redis.*}。
+     * 播单写接口调用后通过 Redis 发布订阅通知其他实例清除本地缓存与播单快照。
+     * Redis 不可用时跳过共享缓存，直接访问上游。</p>
+     */
+    @Setter
+    @Getter
+    public static class SharedCache {
+        /**
+         * 是否启用
+         */
+        private boolean enabled = false;
+
+        /**
+         * 缓存 key 前缀，多个应用共用同一个 Redis 时用于区分
+         */
+        private String keyPrefix = "vod:";
+
+        /**
+         * 缓存失效通知的发布订阅频道
+         */
+        private String channel = "vod:cache:invalidate";
+
+        /**
+         * Redis 调用失败后暂停使用共享缓存的时间（毫秒），避免每个请求都等待超时
+         */
+        private long errorBackoffMillis = 5000;
+    }
+
+    /**
+     * 播放密钥（PlayKey）配置
+     */
+    private PlayKey playKey = new PlayKey();
+
+    /**
+     * 播放密钥（PlayKey）配置项
+     *
+     * <p>时间轴（以最近一次成功获取为起点）：</p>
+     * <ul>
+     *     <li>{@code [0, ttl - refreshAhead)}：直接使用本地缓存</li>
+     *     <li>{@code [ttl - refreshAhead, ttl + staleGrace)}：继续返回当前值，同时在后台刷新；
+     *     VOD 不可用导致刷新失败时保持使用最后一次成功获取的值</li>
+     *     <li>{@code ttl + staleGrace} 之后：缓存失效，需同步重新获取</li>
+     * </ul>
+     */
+    @Setter
+    @Getter
+    public static class PlayKey {
+        /**
+         * 默认应用 ID，签发 JWTPlayAuth 时使用该应用的播放密钥
+         */
+        private String appId = JwtConstants.DEFAULT_APP_ID;
+
+        /**
+         * 播放密钥本地缓存时间（秒）
+         */
+        private long ttlSeconds = 600;
+
+        /**
+         * 提前刷新时间（秒），在缓存到期前多久开始后台刷新
+         */
+        private long refreshAheadSeconds = 120;
+
+        /**
+         * 兜底时间（秒），VOD 不可用时，过期后仍可继续使用旧密钥的最长时间
+         */
+        private long staleGraceSeconds = 1800;
+
+        /**
+         * 最多缓存的应用数
+         */
+        private long maximumApps = 100;
+    }
+
+    /**
+     * JWTPlayAuth 本地缓存配置
+     */
+    private PlayAuthCache playAuthCache = new PlayAuthCache();
+
+    /**
+     * JWTPlayAuth 本地缓存配置项
+     *
+     * <p>JWTPlayAuth 有效期为 {@code JwtConstants.EXPIRED_TIME_MILLS}，开启后同一视频在
+     * {@code 有效期 - safetyMargin} 内复用已签发的 Token，热门视频无需每次重新签名。
+     * 缓存键包含播放密钥，播放密钥轮换后旧 Token 会全部失效。</p>
+     */
+    @Setter
+    @Getter
+    public static class PlayAuthCache {
+        /**
+         * 是否启用
+         */
+        private boolean enabled = false;
+
+        /**
+         * 最大缓存 Token 数
+         */
+        private long maximumSize = 100000;
+
+        /**
+         * 安全余量（秒），返回给客户端的 Token 至少还剩该时长的有效期
+         */
+        private long safetyMarginSeconds = 600;
+    }
+
+    /**
+     * 播单详情流式输出配置
+     */
+    private Streaming streaming = new Streaming();
+
+    /**
+     * 播单详情流式输出配置项
+     *
+     * <p>开启后播单详情不再预先构建完整的视频列表，序列化响应时按分片转换、签名并写出，
+     * 单个请求的内存占用与播单大小无关。响应格式不变。</p>
+     */
+    @Setter
+    @Getter
+    public static class Streaming {
+        /**
+         * 是否启用
+         */
+        private boolean enabled = true;
+
+        /**
+         * 每个分片的视频数，每写完一个分片刷新一次输出流
+         */
+        private int chunkSize = 200;
+    }
+
+    /**
+     * 播单接口条件请求配置
+     */
+    private ETag etag = new ETag();
+
+    /**
+     * 播单接口条件请求配置项
+     *
+     * <p>{@code getPlaylistInfo} / {@code getPlaylistVideos} 的 ETag 由播单信息、视频列表（当前页）与 PlayKey 计算，
+     * 不包含每次签发都会变化的 playAuth；请求携带匹配的 {@code If-None-Match} 时返回 304，客户端继续使用本地缓存的响应。</p>
+     *
+     * <p>客户端缓存的 playAuth 同样会过期，因此 ETag 中还包含按 {@code token-window-seconds} 划分的时间窗口，
+     * 每个窗口结束后 ETag 变化，客户端重新获取签发的 Token。该值不应超过
+     * {@code play-auth-cache.safety-margin-seconds}，保证 304 确认过的 Token 仍在有效期内。</p>
+     */
+    @Setter
+    @Getter
+    public static class ETag {
+        /**
+         * 是否启用
+         */
+        private boolean enabled = true;
+
+        /**
+         * Token 时间窗口（秒），同一窗口内内容不变时 ETag 不变
+         */
+        private long tokenWindowSeconds = 600;
+    }
+
+    /**
+     * 播单快照配置
+     */
+    private Snapshot snapshot = new Snapshot();
+
+    /**
+     * 播单快照配置项
+     *
+     * <p>开启后后台线程定期分页拉取全部播单及其视频列表，解析封面图地址与预览视频，生成内存快照；
+     * {@code getPlaylistInfo} / {@code getPlaylistVideos} 优先读取快照，只在本地签发播放凭证，不访问上游。
+     * 快照未就绪、超过 {@code max-stale-seconds} 未更新，或播单刚通过写接口修改时，回退为实时查询。</p>
+     *
+     * <p>配置 {@code persist-file} 后每次同步成功都将快照写入本地文件，重启时先加载文件中的快照直接提供服务，
+     * 再在后台与 VOD 重新同步，避免新实例冷启动时集中调用上游触发限流。</p>
+     */
+    @Setter
+    @Getter
+    public static class Snapshot {
+        /**
+         * 是否启用
+         */
+        private boolean enabled = false;
+
+        /**
+         * 同步间隔（秒），从上一次同步结束开始计算
+         */
+        private long syncIntervalSeconds = 60;
+
+        /**
+         * 快照最长可用时间（秒），同步持续失败超过该时间后不再使用快照
+         */
+        private long maxStaleSeconds = 600;
+
+        /**
+         * 分页拉取播单列表时的每页数量（GetPlaylists 最大 100）
+         */
+        private int pageSize = 100;
+
+        /**
+         * 快照最多包含的播单数，超出部分的请求回退为实时查询
+         */
+        private int maxPlaylists = 2000;
+
+        /**
+         * 同步时同时进行的 GetPlaylist 调用数上限，应明显小于舱壁的 {@code max-concurrent-calls}
+         */
+        private int syncConcurrency = 4;
+
+        /**
+         * 同步时发起 GetPlaylist 调用的速率上限（次/秒），应明显低于限流配置中 GetPlaylist 的 QPS；小于等于 0 时不限速
+         */
+        private int syncQps = 20;
+
+        /**
+         * 播单通过写接口修改后，重新同步前的等待时间（毫秒），用于合并短时间内的连续修改
+         */
+        private long resyncDelayMillis = 1000;
+
+        /**
+         * 快照持久化文件路径（gzip 压缩的 JSON），为空时不持久化
+         *
+         * <p>快照中保存的是已解析的封面图与预览视频地址；开启 URL 鉴权时这些地址带有过期时间，
+         * 因此恢复的快照可用时间（{@link #restoreMaxAgeSeconds}）不应超过 URL 鉴权的有效时长。</p>
+         */
+        private String persistFile = "";
+
+        /**
+         * 启动时从文件恢复的快照最长可用时间（秒），在第一次同步成功前代替 {@code max-stale-seconds}；
+         * 小于等于 0 时与 {@code max-stale-seconds} 相同
+         *
+         * <p>开启 URL 鉴权时不应超过鉴权地址的有效时长，否则恢复的快照可能返回已过期的封面图 / 预览视频地址。</p>
+         */
+        private long restoreMaxAgeSeconds = 0;
+    }
+
+    /**
+     * 只读 OpenAPI 请求合并配置
+     */
+    private SingleFlight singleFlight = new SingleFlight();
+
+    /**
+     * 只读 OpenAPI 请求合并配置项
+     *
+     * <p>热门播单被大量并发访问时，相同的 {@code GetPlaylist} / {@code GetImageInfos} / {@code GetAppPlayKey}
+     * 调用只向上游发起一次，其余调用等待并共享结果。</p>
+     */
+    @Setter
+    @Getter
+    public static class SingleFlight {
+        /**
+         * 是否启用
+         */
+        private boolean enabled = true;
+    }
+
+    /**
+     * 视频 / 图片信息批量查询聚合配置
+     */
+    private Batch batch = new Batch();
+
+    /**
+     * 视频 / 图片信息批量查询聚合配置项
+     *
+     * <p>{@code GetVideoInfos} / {@code GetImageInfos} 支持一次查询多个 ID，
+     * 窗口内来自不同请求的 ID 会合并为一次调用，用极小的等待换取更少的上游往返。</p>
+     */
+    @Setter
+    @Getter
+    public static class Batch {
+        /**
+         * 聚合窗口（毫秒），0 表示不等待
+         */
+        private long windowMillis = 5;
+
+        /**
+         * 单次调用的最大 ID 数，不能超过 VOD 接口限制（20）
+         */
+        private int maxBatchSize = 20;
+
+        /**
+         * 执行批量调用的线程数（视频与图片共用），与 VOD I/O 线程池相互独立
+         */
+        private int dispatchThreads = 8;
+
+        /**
+         * 批量调用等待队列容量，队列满时该批次直接失败，不会由窗口计时器线程代为执行
+         */
+        private int dispatchQueueCapacity = 64;
+    }
+
+    /**
+     * OpenAPI 容错配置
+     */
+    private Resilience resilience = new Resilience();
+
+    /**
+     * OpenAPI 容错配置项
+     *
+     * <p>熔断器与舱壁按 Action 各自独立创建，以下参数对所有 Action 生效。</p>
+     */
+    @Setter
+    @Getter
+    public static class Resilience {
+        /**
+         * 是否启用
+         */
+        private boolean enabled = true;
+
+        /**
+         * 熔断器配置
+         */
+        private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+        /**
+         * 舱壁（并发隔离）配置
+         */
+        private Bulkhead bulkhead = new Bulkhead();
+
+        /**
+         * 只读接口重试配置
+         */
+        private Retry retry = new Retry();
+
+        /**
+         * 只读接口对冲请求配置
+         */
+        private Hedge hedge = new Hedge();
+
+        /**
+         * 按 Action 的客户端限流配置
+         */
+        private RateLimit rateLimit = new RateLimit();
+
+        /**
+         * 只读接口最近一次成功结果的缓存，用于快速失败或上游临时故障时降级返回
+         */
+        private CacheSpec fallback = new CacheSpec(1000, 3600);
+    }
+
+    /**
+     * 熔断器配置项
+     */
+    @Setter
+    @Getter
+    public static class CircuitBreaker {
+        /**
+         * 滑动窗口大小（最近 N 次调用）
+         */
+        private int slidingWindowSize = 20;
+
+        /**
+         * 计算失败率所需的最少调用次数
+         */
+        private int minimumNumberOfCalls = 10;
+
+        /**
+         * 失败率阈值（百分比），超过后熔断器打开
+         */
+        private float failureRateThreshold = 50;
+
+        /**
+         * 慢调用耗时阈值（毫秒）
+         */
+        private long slowCallDurationThresholdMillis = 3000;
+
+        /**
+         * 慢调用比例阈值（百分比），超过后熔断器打开
+         */
+        private float slowCallRateThreshold = 80;
+
+        /**
+         * 熔断器打开后等待多久（秒）进入半开状态
+         */
+        private long waitDurationInOpenStateSeconds = 10;
+
+        /**
+         * 半开状态允许的探测调用数
+         */
+        private int permittedNumberOfCallsInHalfOpenState = 3;
+    }
+
+    /**
+     * 舱壁（并发隔离）配置项
+     */
+    @Setter
+    @Getter
+    public static class Bulkhead {
+        /**
+         * 单个 Action 允许同时进行的最大调用数
+         */
+        private int maxConcurrentCalls = 32;
+
+        /**
+         * 无空位时的最长等待时间（毫秒），超过后快速失败
+         */
+        private long maxWaitMillis = 20;
+    }
+
+    /**
+     * 只读接口重试配置项
+     *
+     * <p>仅对幂等的只读接口（{@code Get*}）生效，且只重试限流、服务端错误、网络超时等临时故障。
+     * 重试消耗全局预算：每次调用存入 {@code budget-ratio} 个令牌，每次重试消耗 1 个，
+     * 保证上游整体故障时重试流量不超过正常流量的一定比例。</p>
+     */
+    @Setter
+    @Getter
+    public static class Retry {
+        /**
+         * 是否启用
+         */
+        private boolean enabled = true;
+
+        /**
+         * 最大尝试次数（含首次调用）
+         */
+        private int maxAttempts = 3;
+
+        /**
+         * 首次重试的退避上限（毫秒），之后每次翻倍，实际等待时间在 [0, 上限] 内随机
+         */
+        private long initialBackoffMillis = 100;
+
+        /**
+         * 退避上限（毫秒）
+         */
+        private long maxBackoffMillis = 1000;
+
+        /**
+         * 每次调用存入的重试令牌数，即重试流量占正常流量的最大比例
+         */
+        private double budgetRatio = 0.1;
+
+        /**
+         * 重试令牌上限，允许的突发重试次数
+         */
+        private double budgetMaxTokens = 20;
+    }
+
+    /**
+     * 只读接口对冲请求配置项
+     *
+     * <p>对 {@code actions} 中的只读接口，若调用在最近耗时的 {@code percentile} 分位内未返回，
+     * 则再发起一次相同调用，以先返回者为准。对冲请求消耗独立预算，上游额外负载不超过 {@code budget-ratio}。</p>
+     */
+    @Setter
+    @Getter
+    public static class Hedge {
+        /**
+         * 是否启用
+         */
+        private boolean enabled = false;
+
+        /**
+         * 开启对冲的 Action
+         */
+        private List<String> actions = new ArrayList<>(Collections.singletonList("GetPlaylist"));
+
+        /**
+         * 对冲延迟取最近调用耗时的分位数
+         */
+        private double percentile = 0.95;
+
+        /**
+         * 对冲延迟下限（毫秒）
+         */
+        private long minDelayMillis = 20;
+
+        /**
+         * 样本不足时的对冲延迟（毫秒）
+         */
+        private long defaultDelayMillis = 300;
+
+        /**
+         * 同时进行的对冲相关调用上限，超出时不对冲
+         */
+        private int maxConcurrentCalls = 64;
+
+        /**
+         * 每次调用存入的对冲令牌数，即对冲流量占正常流量的最大比例
+         */
+        private double budgetRatio = 0.05;
+
+        /**
+         * 对冲令牌上限
+         */
+        private double budgetMaxTokens = 10;
+    }
+
+    /**
+     * 客户端限流配置项
+     *
+     * <p>每个 Action 一个令牌桶，QPS 应与阿里云控制台中该 OpenAPI 的 QPS 配额对应
+     * （配额按账号统计，多实例部署时需按实例数均分）。超出配额时最多排队 {@code max-wait-millis}，
+     * 仍无法获得许可则返回 {@code ResultCode.UPSTREAM_THROTTLED}（HTTP 429）。</p>
+     */
+    @Setter
+    @Getter
+    public static class RateLimit {
+        /**
+         * 是否启用
+         */
+        private boolean enabled = true;
+
+        /**
+         * 未单独配置的 Action 的 QPS
+         */
+        private int defaultQps = 100;
+
+        /**
+         * 等待许可的最长时间（毫秒）
+         */
+        private long maxWaitMillis = 100;
+
+        /**
+         * 按 Action 单独配置的 QPS，如 {@code GetPlaylist: 50}
+         */
+        private Map<String, Integer> actions = new HashMap<>();
+    }
+
+    /**
+     * 请求时间预算配置
+     */
+    private RequestTimeout requestTimeout = new RequestTimeout();
+
+    /**
+     * 请求时间预算配置项
+     *
+     * <p>请求进入时按请求头或默认值确定截止时间，异步任务等待、OpenAPI 读超时、重试与对冲都不会超过剩余时间，
+     * 预算耗尽时返回 {@code ResultCode.UPSTREAM_TIMEOUT}（HTTP 504）。</p>
+     */
+    @Setter
+    @Getter
+    public static class RequestTimeout {
+        /**
+         * 是否启用
+         */
+        private boolean enabled = true;
+
+        /**
+         * 客户端指定时间预算（毫秒）的请求头
+         */
+        private String header = "X-Request-Timeout-Ms";
+
+        /**
+         * 未指定请求头时的时间预算（毫秒）
+         */
+        private long defaultMillis = 3000;
+
+        /**
+         * 客户端可指定的最大时间预算（毫秒）
+         */
+        private long maxMillis = 10000;
+
+        /**
+         * 根据请求头取值确定本次请求的时间预算：取值非法时使用默认值，超过上限时按上限处理
+         *
+         * @param headerValue 请求头取值，可为空
+         * @return 时间预算（毫秒）
+         */
+        public long resolveMillis(String headerValue) {
+            if (headerValue != null && !headerValue.trim().isEmpty()) {
+                try {
+                    long requested = Long.parseLong(headerValue.trim());
+                    if (requested > 0) {
+                        return Math.min(requested, maxMillis);
+                    }
+                } catch (NumberFormatException e) {
+                    // 非法取值使用默认预算
+                }
+            }
+            return Math.min(defaultMillis, maxMillis);
+        }
+    }
+
+    /**
+     * 单个缓存的容量与过期配置
+     */
+    @Setter
+    @Getter
+    public static class CacheSpec {
+        /**
+         * 最大缓存条目数，超出后按 W-TinyLFU 策略淘汰
+         */
+        private long maximumSize;
+
+        /**
+         * 写入后过期时间（秒）
+         */
+        private long ttlSeconds;
+
+        /**
+         * 不存在结果的缓存时间（秒），仅用于按 ID 查询的媒资缓存；0 表示不缓存不存在的 ID
+         */
+        private long negativeTtlSeconds;
+
+        public CacheSpec() {
+        }
+
+        public CacheSpec(long maximumSize, long ttlSeconds) {
+            this(maximumSize, ttlSeconds, 0);
+        }
+
+        public CacheSpec(long maximumSize, long ttlSeconds, long negativeTtlSeconds) {
+            this.maximumSize = maximumSize;
+            this.ttlSeconds = ttlSeconds;
+            this.negativeTtlSeconds = negativeTtlSeconds;
+        }
+    }
 }
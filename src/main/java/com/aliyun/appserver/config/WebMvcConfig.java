@@ -0,0 +1,33 @@
+package com.aliyun.appserver.config;
+
+import com.aliyun.appserver.support.DeadlineInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Web MVC 配置
+ *
+ * <p>为业务接口（{@code /appServer/**}，健康检查除外）注册请求截止时间拦截器。</p>
+ *
+ * @author: pxc
+ * @date: 2026/10/17 19:40
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final VodConfig vodConfig;
+
+    public WebMvcConfig(VodConfig vodConfig) {
+        this.vodConfig = vodConfig;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (vodConfig.getRequestTimeout().isEnabled()) {
+            registry.addInterceptor(new DeadlineInterceptor(vodConfig.getRequestTimeout()))
+                    .addPathPatterns("/appServer/**")
+                    .excludePathPatterns("/appServer/health");
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.aliyun.appserver.controller;
+
+import com.aliyun.appserver.result.CallResult;
+import com.aliyun.appserver.result.ResponseResult;
+import com.aliyun.appserver.result.ResultCode;
+import com.aliyun.appserver.support.DeadlineExceededException;
+import com.aliyun.appserver.support.VodThrottledException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * 全局异常处理
+ *
+ * <p>将服务层抛出的、需要客户端感知的异常转换为统一的 {@link CallResult} 与对应的 HTTP 状态码。</p>
+ *
+ * @author: pxc
+ * @date: 2026/10/17 18:30
+ */
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
+    /**
+     * VOD OpenAPI 被本地限流拒绝：返回 429，客户端可稍后重试
+     */
+    @ExceptionHandler(VodThrottledException.class)
+    public ResponseEntity<CallResult<Object>> handleThrottled(VodThrottledException e) {
+        log.warn("请求被限流: {}", e.getMessage());
+        return build(HttpStatus.TOO_MANY_REQUESTS, ResultCode.UPSTREAM_THROTTLED);
+    }
+
+    /**
+     * 请求处理超出时间预算：返回 504
+     */
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<CallResult<Object>> handleDeadlineExceeded(DeadlineExceededException e) {
+        log.warn("请求超时: {}", e.getMessage());
+        return build(HttpStatus.GATEWAY_TIMEOUT, ResultCode.UPSTREAM_TIMEOUT);
+    }
+
+    private static ResponseEntity<CallResult<Object>> build(HttpStatus status, ResultCode resultCode) {
+        CallResult<Object> result = ResponseResult.makeRsp(resultCode);
+        result.setSuccess(false);
+        result.setHttpCode(String.valueOf(status.value()));
+        return ResponseEntity.status(status).body(result);
+    }
+}
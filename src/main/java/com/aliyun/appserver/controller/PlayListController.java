@@ -4,8 +4,14 @@ import com.aliyun.appserver.result.CallResult;
 import com.aliyun.appserver.result.ResultCode;
 import com.aliyun.appserver.service.PlayListService;
 import com.aliyun.appserver.service.VodSdkService;
+import com.aliyun.appserver.support.PlaylistChangedEvent;
 import com.aliyuncs.vod.model.v20170321.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
@@ -19,6 +25,8 @@ import org.springframework.web.bind.annotation.*;
  *     <li>基于业务封装的增强能力（返回统一的 {@link CallResult}）</li>
  * </ul>
  * 控制器本身不做复杂业务处理，仅负责参数绑定与服务路由。
+ * 写接口调用后发布 {@link PlaylistChangedEvent}，使播单快照等派生数据失效。
+ * 播单详情与播单列表支持条件请求：响应带 {@code ETag}，请求的 {@code If-None-Match} 匹配时返回 304。
  * </p>
  *
  * @author: pxc
@@ -35,6 +43,10 @@ public class PlayListController {
     @Autowired
     private PlayListService playListService;
 
+    // 事件发布器（写接口调用后发布播单变更事件）
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * 创建播单
      *
@@ -42,7 +54,9 @@ public class PlayListController {
      */
     @RequestMapping(value = "/appServer/createPlaylist", method = {RequestMethod.GET, RequestMethod.POST})
     public CreatePlaylistResponse CreatePlaylist(@RequestBody CreatePlaylistRequest request) {
-        return vodSdkService.CreatePlaylist(request);
+        CreatePlaylistResponse response = vodSdkService.CreatePlaylist(request);
+        eventPublisher.publishEvent(new PlaylistChangedEvent(null));
+        return response;
     }
 
     /**
@@ -52,7 +66,9 @@ public class PlayListController {
      */
     @RequestMapping(value = "/appServer/deletePlaylists", method = {RequestMethod.GET, RequestMethod.POST})
     public DeletePlaylistsResponse deletePlaylists(@RequestBody DeletePlaylistsRequest request) {
-        return vodSdkService.deletePlaylists(request);
+        DeletePlaylistsResponse response = vodSdkService.deletePlaylists(request);
+        eventPublisher.publishEvent(new PlaylistChangedEvent(request.getPlaylistIds()));
+        return response;
     }
 
     /**
@@ -80,7 +96,9 @@ public class PlayListController {
      */
     @RequestMapping(value = "/appServer/updatePlaylistBasicInfo", method = {RequestMethod.GET, RequestMethod.POST})
     public UpdatePlaylistBasicInfoResponse updatePlaylistBasicInfo(@RequestBody UpdatePlaylistBasicInfoRequest request) {
-        return vodSdkService.updatePlaylistBasicInfo(request);
+        UpdatePlaylistBasicInfoResponse response = vodSdkService.updatePlaylistBasicInfo(request);
+        eventPublisher.publishEvent(new PlaylistChangedEvent(request.getPlaylistId()));
+        return response;
     }
 
     /**
@@ -88,7 +106,9 @@ public class PlayListController {
      */
     @RequestMapping(value = "/appServer/updatePlaylistVideoBasicInfo", method = {RequestMethod.GET, RequestMethod.POST})
     public UpdatePlaylistVideoBasicInfoResponse updatePlaylistVideoBasicInfo(@RequestBody UpdatePlaylistVideoBasicInfoRequest request) {
-        return vodSdkService.updatePlaylistVideoBasicInfo(request);
+        UpdatePlaylistVideoBasicInfoResponse response = vodSdkService.updatePlaylistVideoBasicInfo(request);
+        eventPublisher.publishEvent(new PlaylistChangedEvent(request.getPlaylistId()));
+        return response;
     }
 
     /**
@@ -96,7 +116,9 @@ public class PlayListController {
      */
     @RequestMapping(value = "/appServer/updatePlaylistVideos", method = {RequestMethod.GET, RequestMethod.POST})
     public UpdatePlaylistVideosResponse updatePlaylistVideos(@RequestBody UpdatePlaylistVideosRequest request) {
-        return vodSdkService.updatePlaylistVideos(request);
+        UpdatePlaylistVideosResponse response = vodSdkService.updatePlaylistVideos(request);
+        eventPublisher.publishEvent(new PlaylistChangedEvent(request.getPlaylistId()));
+        return response;
     }
 
     /**
@@ -104,7 +126,9 @@ public class PlayListController {
      */
     @RequestMapping(value = "/appServer/addPlaylistVideos", method = {RequestMethod.GET, RequestMethod.POST})
     public AddPlaylistVideosResponse addPlaylistVideos(@RequestBody AddPlaylistVideosRequest request) {
-        return vodSdkService.addPlaylistVideos(request);
+        AddPlaylistVideosResponse response = vodSdkService.addPlaylistVideos(request);
+        eventPublisher.publishEvent(new PlaylistChangedEvent(request.getPlaylistId()));
+        return response;
     }
 
     /**
@@ -112,7 +136,9 @@ public class PlayListController {
      */
     @RequestMapping(value = "/appServer/deletePlaylistVideos", method = {RequestMethod.GET, RequestMethod.POST})
     public DeletePlaylistVideosResponse deletePlaylistVideos(@RequestBody DeletePlaylistVideosRequest request) {
-        return vodSdkService.deletePlaylistVideos(request);
+        DeletePlaylistVideosResponse response = vodSdkService.deletePlaylistVideos(request);
+        eventPublisher.publishEvent(new PlaylistChangedEvent(request.getPlaylistId()));
+        return response;
     }
 
     /**
@@ -120,21 +146,47 @@ public class PlayListController {
      *
      * <p>在基础播单信息上补充封面图 URL、视频播放凭证等业务字段，返回统一包装结果。</p>
      *
-     * @param playListId 播单 ID，可为空；为空时由服务层返回默认播单。
+     * <p>传入 {@code pageNo} / {@code pageSize} 时只返回该页的视频（仅为该页签发播放凭证），{@code total} 为播单视频总数。</p>
+     *
+     * @param playListId  播单 ID，可为空；为空时由服务层返回默认播单。
+     * @param pageNo      页码，从 1 开始，可为空
+     * @param pageSize    每页视频数，可为空；两者均为空时返回全部视频
+     * @param ifNoneMatch 上次响应的 ETag，可为空；内容未变化时返回 304
      */
     @RequestMapping(value = "/appServer/getPlaylistInfo", method = {RequestMethod.GET, RequestMethod.POST})
-    public CallResult getPlaylistInfo(@RequestParam(value = "playListId", required = false) String playListId) {
-        return playListService.getPlaylistInfo(playListId);
+    public ResponseEntity<CallResult> getPlaylistInfo(@RequestParam(value = "playListId", required = false) String playListId,
+                                                      @RequestParam(value = "pageNo", required = false) Integer pageNo,
+                                                      @RequestParam(value = "pageSize", required = false) Integer pageSize,
+                                                      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditional(playListService.getPlaylistInfo(playListId, pageNo, pageSize, ifNoneMatch));
     }
 
     /**
      * 获取播单列表
      *
      * <p>每个播单将携带一个预览视频及其播放凭证，返回统一包装结果。</p>
+     *
+     * @param ifNoneMatch 上次响应的 ETag，可为空；内容未变化时返回 304
      */
     @RequestMapping(value = "/appServer/getPlaylistVideos", method = {RequestMethod.GET, RequestMethod.POST})
-    public CallResult getPlaylistVideos(@RequestBody GetPlaylistsRequest request) {
-        return playListService.getPlaylistVideos(request);
+    public ResponseEntity<CallResult> getPlaylistVideos(@RequestBody GetPlaylistsRequest request,
+                                                        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditional(playListService.getPlaylistVideos(request, ifNoneMatch));
+    }
+
+    /**
+     * 按结果中的 ETag 设置条件请求响应：未修改时返回 304（无响应体），否则返回 200 并带上 ETag；
+     * 响应包含播放凭证，只允许客户端私有缓存，且每次使用前需携带 If-None-Match 重新验证
+     */
+    private static ResponseEntity<CallResult> conditional(CallResult result) {
+        if (result.getEtag() == null) {
+            return ResponseEntity.ok(result);
+        }
+        CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+        if (result.isNotModified()) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(result.getEtag()).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok().eTag(result.getEtag()).cacheControl(cacheControl).body(result);
     }
 
     /**
@@ -32,6 +32,12 @@ public class PlayList extends GetPlaylistsResponse.PlaylistDO {
 
     private Integer total;
 
+    /**
+     * 空播单实体，供反序列化使用
+     */
+    public PlayList() {
+    }
+
     /**
      * 由 {@link GetPlaylistResponse} 构造播单实体
      */
@@ -0,0 +1,134 @@
+package com.aliyun.appserver.entity;
+
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 播单扩展信息（PlaylistExtension）
+ *
+ * <p>
+ * VOD 播单的 {@code PlaylistExtension} 字段为业务自定义的 JSON 字符串，
+ * 本类将其中约定的字段解析为强类型属性，其余字段保存在 {@link #others} 中，序列化时原样输出。
+ * </p>
+ *
+ * <pre>
+ * 示例：{"previewVideoId": "a1b2c3..."}
+ * </pre>
+ *
+ * <p>解析结果会被多个请求共享（见 {@code PlaylistExtensionService}），因此为不可变对象：
+ * 没有 setter，{@link #others} 及其中嵌套的对象 / 数组均不可修改；通过 {@link #builder()} 构造。</p>
+ *
+ * @author: pxc
+ * @date: 2026/10/17 21:50
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+@JsonDeserialize(builder = PlaylistExtension.Builder.class)
+public final class PlaylistExtension {
+
+    /**
+     * 扩展信息为空或无法解析时使用的空对象
+     */
+    public static final PlaylistExtension EMPTY = builder().build();
+
+    /**
+     * 预览视频 ID，播单列表中作为该播单的首个视频展示
+     */
+    private final String previewVideoId;
+
+    /**
+     * 未定义为属性的其他扩展字段（不可修改）
+     */
+    private final Map<String, Object> others;
+
+    private PlaylistExtension(Builder builder) {
+        this.previewVideoId = builder.previewVideoId;
+        this.others = immutableMap(builder.others);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @JsonAnyGetter
+    public Map<String, Object> getOthers() {
+        return others;
+    }
+
+    /**
+     * 是否配置了预览视频
+     */
+    public boolean hasPreviewVideo() {
+        return previewVideoId != null && !previewVideoId.trim().isEmpty();
+    }
+
+    /**
+     * 复制为不可修改的 Map，嵌套的对象 / 数组一并复制
+     */
+    private static Map<String, Object> immutableMap(Map<?, ?> map) {
+        if (map.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, Object> copy = new LinkedHashMap<>();
+        map.forEach((name, value) -> copy.put(String.valueOf(name), immutable(value)));
+        return Collections.unmodifiableMap(copy);
+    }
+
+    private static Object immutable(Object value) {
+        if (value instanceof Map) {
+            return immutableMap((Map<?, ?>) value);
+        }
+        if (value instanceof List) {
+            List<Object> copy = new ArrayList<>();
+            for (Object item : (List<?>) value) {
+                copy.add(immutable(item));
+            }
+            return Collections.unmodifiableList(copy);
+        }
+        return value;
+    }
+
+    /**
+     * {@link PlaylistExtension} 构造器，同时用于 JSON 反序列化
+     */
+    @JsonPOJOBuilder(withPrefix = "")
+    public static final class Builder {
+
+        private String previewVideoId;
+
+        private final Map<String, Object> others = new LinkedHashMap<>();
+
+        private Builder() {
+        }
+
+        public Builder previewVideoId(String previewVideoId) {
+            this.previewVideoId = previewVideoId;
+            return this;
+        }
+
+        /**
+         * 其他扩展字段
+         */
+        @JsonAnySetter
+        public Builder other(String name, Object value) {
+            others.put(name, value);
+            return this;
+        }
+
+        public PlaylistExtension build() {
+            return new PlaylistExtension(this);
+        }
+    }
+}
@@ -28,6 +28,12 @@ public class PlaylistItemDto extends GetPlaylistResponse.PlaylistItemDO {
      */
     private String playAuth;
 
+    /**
+     * 空条目对象，供反序列化使用
+     */
+    public PlaylistItemDto() {
+    }
+
     /**
      * 由 VOD 播单明细构造条目对象
      */
@@ -0,0 +1,72 @@
+package com.aliyun.appserver.entity;
+
+import com.aliyuncs.vod.model.v20170321.GetPlaylistResponse;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 播单快照
+ *
+ * <p>
+ * 后台同步生成的全部播单数据，封面图地址与预览视频均已解析，但不含播放凭证（由请求时本地签发）。
+ * 快照发布后不再修改，由多个请求共享读取；使用方需要修改时应先复制（如 {@code new PlayList(entry.getDetail())}）。
+ * </p>
+ *
+ * @author: pxc
+ * @date: 2026/10/17 22:10
+ */
+@Data
+public class PlaylistSnapshot {
+
+    /**
+     * 同步完成时间（毫秒时间戳）
+     */
+    private long syncedAt;
+
+    /**
+     * 播单 ID，按 GetPlaylists 默认排序
+     */
+    private List<String> playlistIds = new ArrayList<>();
+
+    /**
+     * 播单 ID 数超过上限被截断时为 {@code true}，此时超出范围的分页不能由快照提供
+     */
+    private boolean truncated;
+
+    /**
+     * 播单 ID 到播单数据的映射
+     */
+    private Map<String, Entry> playlists = new HashMap<>();
+
+    /**
+     * 单个播单的快照数据
+     */
+    @Data
+    public static class Entry {
+
+        /**
+         * 播单列表视图（来自 GetPlaylists），封面图已解析为地址，无法解析时保留原值
+         */
+        private PlayList summary;
+
+        /**
+         * 预览视频（不含播放凭证），未配置或视频不存在时为 {@code null}
+         */
+        private PlaylistItemDto preview;
+
+        /**
+         * 播单详情视图（来自 GetPlaylist），封面图已解析为地址，图片不存在时为 {@code null}；
+         * 同步时播单已被删除则为 {@code null}
+         */
+        private PlayList detail;
+
+        /**
+         * 播单包含的视频（不含播放凭证）
+         */
+        private List<GetPlaylistResponse.PlaylistItemDO> items;
+    }
+}
@@ -0,0 +1,154 @@
+package com.aliyun.appserver.entity;
+
+import com.aliyuncs.vod.model.v20170321.GetPlaylistResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 流式输出的播单详情（业务视图）
+ *
+ * <p>
+ * 序列化结果与 {@link PlayList} 相同，区别在于视频列表不预先构建：
+ * 序列化时先写出播单基本信息，再按分片将 VOD 播单明细转换为 {@link PlaylistItemDto}、批量签发播放凭证并立即写出，
+ * 每个分片写完后刷新输出流。内存中同时只存在一个分片的 DTO 与 Token，播单再大也不会产生与视频数成正比的额外对象。
+ * </p>
+ *
+ * <p>
+ * 以上依赖序列化直接写入输出流（Servlet 模式）。WebFlux 的 Jackson 编码器会先将整个响应体写入内存，
+ * 因此响应式处理器通过 {@link #withoutItems()} / {@link #getChunk(int)} 按分片生成响应体，效果相同。
+ * </p>
+ *
+ * @author: pxc
+ * @date: 2026/10/17 21:30
+ */
+@JsonSerialize(using = StreamingPlayList.Serializer.class)
+public class StreamingPlayList {
+
+    private static final String VIDEOS_FIELD = "playlistVideos";
+
+    /**
+     * 播单基本信息（不含视频列表）
+     */
+    private final PlayList playList;
+
+    /**
+     * VOD 返回的播单明细
+     */
+    private final List<GetPlaylistResponse.PlaylistItemDO> items;
+
+    /**
+     * 批量签名函数：视频ID列表 -> 一一对应的播放凭证列表
+     */
+    private final Function<List<String>, List<String>> signer;
+
+    private final int chunkSize;
+
+    /**
+     * @param playList  播单基本信息，其中的视频列表不会被输出
+     * @param items     VOD 返回的播单明细
+     * @param signer    批量签名函数，返回与入参一一对应的播放凭证（签名失败的位置为 {@code null}）
+     * @param chunkSize 每次转换、签名并写出的视频数
+     */
+    public StreamingPlayList(PlayList playList, List<GetPlaylistResponse.PlaylistItemDO> items,
+                             Function<List<String>, List<String>> signer, int chunkSize) {
+        this.playList = playList;
+        this.items = items;
+        this.signer = signer;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    public PlayList getPlayList() {
+        return playList;
+    }
+
+    /**
+     * 分片数
+     */
+    public int getChunkCount() {
+        return (items.size() + chunkSize - 1) / chunkSize;
+    }
+
+    /**
+     * 转换并签名第 {@code index} 个分片（从 0 开始）
+     */
+    public List<PlaylistItemDto> getChunk(int index) {
+        return chunk(index * chunkSize);
+    }
+
+    /**
+     * 不含视频的副本，序列化结果中 {@code playlistVideos} 为空数组，用于单独写出播单基本信息
+     */
+    public StreamingPlayList withoutItems() {
+        return new StreamingPlayList(playList, Collections.emptyList(), signer, chunkSize);
+    }
+
+    /**
+     * 转换并签名从 {@code from} 开始的一个分片
+     */
+    private List<PlaylistItemDto> chunk(int from) {
+        int to = Math.min(items.size(), from + chunkSize);
+        List<PlaylistItemDto> chunk = new ArrayList<>(to - from);
+        List<String> videoIds = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            PlaylistItemDto item = new PlaylistItemDto(items.get(i));
+            chunk.add(item);
+            // 空 videoId 不生成凭证
+            videoIds.add(item.getVideoId() != null ? item.getVideoId().trim() : null);
+        }
+        List<String> playAuths = signer.apply(videoIds);
+        for (int i = 0; i < chunk.size(); i++) {
+            if (playAuths.get(i) != null) {
+                chunk.get(i).setPlayAuth(playAuths.get(i));
+            }
+        }
+        return chunk;
+    }
+
+    /**
+     * 先按 {@link PlayList} 的序列化方式写出基本信息，再逐个分片写出视频列表
+     */
+    public static class Serializer extends JsonSerializer<StreamingPlayList> {
+
+        @Override
+        public void serialize(StreamingPlayList value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            TokenBuffer buffer = new TokenBuffer(gen.getCodec(), false);
+            provider.defaultSerializeValue(value.playList, buffer);
+
+            gen.writeStartObject();
+            try (JsonParser parser = buffer.asParser()) {
+                parser.nextToken();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.getCurrentName();
+                    parser.nextToken();
+                    if (VIDEOS_FIELD.equals(field)) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    gen.writeFieldName(field);
+                    gen.copyCurrentStructure(parser);
+                }
+            }
+
+            gen.writeArrayFieldStart(VIDEOS_FIELD);
+            for (int from = 0; from < value.items.size(); from += value.chunkSize) {
+                for (PlaylistItemDto item : value.chunk(from)) {
+                    provider.defaultSerializeValue(item, gen);
+                }
+                gen.flush();
+            }
+            gen.writeEndArray();
+            gen.writeEndObject();
+        }
+    }
+}
@@ -3,12 +3,15 @@ package com.aliyun.appserver.jwt;
 import com.alibaba.fastjson.JSONObject;
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.algorithms.Algorithm;
-import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.DecodedJWT;
 import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * JWT 播放鉴权工具类
@@ -22,6 +25,9 @@ import java.util.HashMap;
  * @date: 2025/10/27 14:10
  */
 public class JwtUtil {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtUtil.class);
+
     /**
      * 生成本地签名播放凭证 JWTPlayAuth（使用默认 regionId）
      *
@@ -44,6 +50,19 @@ public class JwtUtil {
      * @return JWT Token 字符串
      */
     public static String getPlayAuthToken(String videoId, String playKey, String regionId) {
+        return getPlayAuthToken(videoId, playKey, regionId, JwtConstants.DEFAULT_APP_ID);
+    }
+
+    /**
+     * 生成本地签名播放凭证 JWTPlayAuth（指定应用 ID）
+     *
+     * @param videoId  视频ID
+     * @param playKey  播放密钥，需与 {@code appId} 对应
+     * @param regionId 地域标识（Region ID），建议从配置中读取
+     * @param appId    应用ID，为空时使用 {@link JwtConstants#DEFAULT_APP_ID}
+     * @return JWT Token 字符串
+     */
+    public static String getPlayAuthToken(String videoId, String playKey, String regionId, String appId) {
         if (videoId == null || videoId.trim().isEmpty()) {
             throw new IllegalArgumentException("videoId 不能为空");
         }
@@ -53,33 +72,59 @@ public class JwtUtil {
         if (regionId == null || regionId.trim().isEmpty()) {
             regionId = JwtConstants.DEFAULT_REGION_ID; // 使用默认值
         }
+        if (appId == null || appId.trim().isEmpty()) {
+            appId = JwtConstants.DEFAULT_APP_ID;
+        }
 
         long currentTimeStamp = System.currentTimeMillis();
         long expireTimeStamp = currentTimeStamp + JwtConstants.EXPIRED_TIME_MILLS;
 
-        HashMap<String, Object> playContentInfo = new HashMap<>();
-        playContentInfo.put("formats", "mp4");
-        playContentInfo.put("authTimeout", 1800L); // 可也作为参数
-        playContentInfo.put("streamType", "video");
-
         try {
-            Algorithm algorithm = Algorithm.HMAC256(playKey); // 动态密钥
-
-            return JWT.create()
-                    .withClaim("appId", JwtConstants.DEFAULT_APP_ID)
-                    .withClaim("videoId", videoId)           // 动态 videoId
-                    .withClaim("currentTimeStamp", currentTimeStamp)
-                    .withClaim("expireTimeStamp", expireTimeStamp)
-                    .withClaim("regionId", regionId)
-                    .withClaim("playContentInfo", playContentInfo)
-                    .sign(algorithm);
-        } catch (JWTCreationException e) {
+            // 与 JWT.create()...sign(Algorithm.HMAC256(playKey)) 输出一致，复用线程内的 Mac 与缓冲区
+            return PlayAuthSigner.sign(appId, videoId, regionId, playKey, currentTimeStamp, expireTimeStamp);
+        } catch (IllegalArgumentException | IllegalStateException e) {
             System.err.println("JWT Token创建失败: " + e.getMessage());
             e.printStackTrace();
             return null;
         }
     }
 
+    /**
+     * 批量生成本地签名播放凭证 JWTPlayAuth
+     *
+     * <p>整批只校验一次参数、读取一次当前时间，并复用同一个签名器状态，适用于播单等一次返回多个视频的场景。</p>
+     *
+     * @param videoIds 视频ID列表
+     * @param playKey  播放密钥，需与 {@code appId} 对应
+     * @param regionId 地域标识（Region ID），为空时使用 {@link JwtConstants#DEFAULT_REGION_ID}
+     * @param appId    应用ID，为空时使用 {@link JwtConstants#DEFAULT_APP_ID}
+     * @return 与 {@code videoIds} 一一对应的 Token 列表；videoId 为空或签名失败时对应位置为 {@code null}
+     */
+    public static List<String> getPlayAuthTokens(List<String> videoIds, String playKey, String regionId, String appId) {
+        if (videoIds == null || videoIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (playKey == null || playKey.trim().isEmpty()) {
+            throw new IllegalArgumentException("playKey 不能为空");
+        }
+        if (regionId == null || regionId.trim().isEmpty()) {
+            regionId = JwtConstants.DEFAULT_REGION_ID;
+        }
+        if (appId == null || appId.trim().isEmpty()) {
+            appId = JwtConstants.DEFAULT_APP_ID;
+        }
+
+        long currentTimeStamp = System.currentTimeMillis();
+        long expireTimeStamp = currentTimeStamp + JwtConstants.EXPIRED_TIME_MILLS;
+
+        try {
+            return PlayAuthSigner.signAll(appId, videoIds, regionId, playKey, currentTimeStamp, expireTimeStamp);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            log.warn("JWT Token 批量创建失败，{} 个视频未签发 playAuth: {}", videoIds.size(), e.toString());
+            return new ArrayList<>(Collections.nCopies(videoIds.size(), (String) null));
+        }
+    }
+
     public static boolean checkPlayAuthToken(String token, String playKey) {
         try {
             // 1. Token格式校验：JWT标准格式为三部分用"."分隔
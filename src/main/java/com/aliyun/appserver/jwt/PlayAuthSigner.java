@@ -0,0 +1,359 @@
+package com.aliyun.appserver.jwt;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * JWTPlayAuth 专用签名器
+ *
+ * <p>
+ * 与 {@code JWT.create()...sign(Algorithm.HMAC256(playKey))} 的输出逐字节一致，但针对播单批量签发做了优化：
+ * <ul>
+ *     <li>固定的 Header 段与 {@code playContentInfo} 片段预先编码，不再经过通用 JSON 序列化</li>
+ *     <li>每个线程缓存已初始化的 {@link Mac}（按 playKey），避免重复创建 {@code Algorithm}</li>
+ *     <li>可变 Claim（appId、videoId、时间戳、regionId）直接写入线程内复用的字节缓冲区</li>
+ * </ul>
+ * </p>
+ *
+ * <p>Token 结构：</p>
+ * <pre>
+ * Header : {"alg":"HS256","typ":"JWT"}
+ * Payload: {"appId":"..","videoId":"..","currentTimeStamp":..,"expireTimeStamp":..,"regionId":"..",
+ *           "playContentInfo":{"formats":"mp4","streamType":"video","authTimeout":1800}}
+ * </pre>
+ *
+ * <p>本类不做参数校验，调用方（{@link JwtUtil}）负责校验与默认值处理。</p>
+ *
+ * @author: pxc
+ * @date: 2026/10/17 15:10
+ */
+public final class PlayAuthSigner {
+
+    private static final String HMAC_SHA256 = "HmacSHA256";
+
+    /**
+     * Base64Url 编码后的 Header 段（含末尾的 "."）
+     */
+    private static final byte[] HEADER_SEGMENT = ascii(
+            Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8)) + ".");
+
+    private static final byte[] APP_ID_PREFIX = ascii("{\"appId\":\"");
+    private static final byte[] VIDEO_ID_PREFIX = ascii("\",\"videoId\":\"");
+    private static final byte[] CURRENT_TIME_PREFIX = ascii("\",\"currentTimeStamp\":");
+    private static final byte[] EXPIRE_TIME_PREFIX = ascii(",\"expireTimeStamp\":");
+    private static final byte[] REGION_ID_PREFIX = ascii(",\"regionId\":\"");
+    private static final byte[] PLAY_CONTENT_INFO_SUFFIX = ascii(
+            "\",\"playContentInfo\":{\"formats\":\"mp4\",\"streamType\":\"video\",\"authTimeout\":1800}}");
+
+    private static final byte[] BASE64_URL_ALPHABET = ascii(
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_");
+
+    private static final byte[] HEX_DIGITS = ascii("0123456789ABCDEF");
+
+    private static final int SIGNATURE_LENGTH = 32;
+
+    private static final ThreadLocal<SignerState> STATE = ThreadLocal.withInitial(SignerState::new);
+
+    private PlayAuthSigner() {
+    }
+
+    /**
+     * 签发 JWTPlayAuth
+     *
+     * @param appId            应用ID
+     * @param videoId          视频ID
+     * @param regionId         地域标识
+     * @param playKey          播放密钥
+     * @param currentTimeStamp 签发时间（毫秒）
+     * @param expireTimeStamp  过期时间（毫秒）
+     * @return JWT Token 字符串
+     * @throws IllegalArgumentException 参数中包含无法编码为 UTF-8 的字符（不成对的代理字符）
+     * @throws IllegalStateException    当前 JDK 不支持 HmacSHA256 或密钥无效
+     */
+    public static String sign(String appId, String videoId, String regionId, String playKey,
+                              long currentTimeStamp, long expireTimeStamp) {
+        SignerState state = STATE.get();
+        Mac mac = state.mac(playKey);
+
+        // 1. 写入 Payload JSON
+        ByteBuffer json = state.json.reset();
+        json.write(APP_ID_PREFIX);
+        writeJsonString(json, appId);
+        json.write(VIDEO_ID_PREFIX);
+        writeJsonString(json, videoId);
+        json.write(CURRENT_TIME_PREFIX);
+        writeLong(json, currentTimeStamp);
+        json.write(EXPIRE_TIME_PREFIX);
+        writeLong(json, expireTimeStamp);
+        json.write(REGION_ID_PREFIX);
+        writeJsonString(json, regionId);
+        json.write(PLAY_CONTENT_INFO_SUFFIX);
+
+        return signPayload(state, mac);
+    }
+
+    /**
+     * 批量签发 JWTPlayAuth
+     *
+     * <p>整批共用同一组时间戳、同一个 {@link Mac} 与输出缓冲区；
+     * videoId 之前与之后的 Payload 片段只编码一次，每个 Token 仅写入 videoId 本身。</p>
+     *
+     * @param appId            应用ID
+     * @param videoIds         视频ID列表
+     * @param regionId         地域标识
+     * @param playKey          播放密钥
+     * @param currentTimeStamp 签发时间（毫秒）
+     * @param expireTimeStamp  过期时间（毫秒）
+     * @return 与 {@code videoIds} 一一对应的 Token 列表；videoId 为空或无法编码时对应位置为 {@code null}
+     * @throws IllegalArgumentException appId / regionId 中包含不成对的代理字符
+     * @throws IllegalStateException    当前 JDK 不支持 HmacSHA256 或密钥无效
+     */
+    public static List<String> signAll(String appId, List<String> videoIds, String regionId, String playKey,
+                                       long currentTimeStamp, long expireTimeStamp) {
+        SignerState state = STATE.get();
+        Mac mac = state.mac(playKey);
+
+        // 预先编码 videoId 前后的固定片段
+        ByteBuffer json = state.json.reset();
+        json.write(APP_ID_PREFIX);
+        writeJsonString(json, appId);
+        json.write(VIDEO_ID_PREFIX);
+        byte[] head = Arrays.copyOf(json.bytes, json.length);
+
+        json.reset();
+        json.write(CURRENT_TIME_PREFIX);
+        writeLong(json, currentTimeStamp);
+        json.write(EXPIRE_TIME_PREFIX);
+        writeLong(json, expireTimeStamp);
+        json.write(REGION_ID_PREFIX);
+        writeJsonString(json, regionId);
+        json.write(PLAY_CONTENT_INFO_SUFFIX);
+        byte[] tail = Arrays.copyOf(json.bytes, json.length);
+
+        List<String> tokens = new ArrayList<>(videoIds.size());
+        for (String videoId : videoIds) {
+            if (videoId == null || videoId.trim().isEmpty()) {
+                tokens.add(null);
+                continue;
+            }
+            json.reset();
+            json.write(head);
+            try {
+                writeJsonString(json, videoId);
+            } catch (IllegalArgumentException e) {
+                tokens.add(null);
+                continue;
+            }
+            json.write(tail);
+            tokens.add(signPayload(state, mac));
+        }
+        return tokens;
+    }
+
+    /**
+     * 对 {@code state.json} 中的 Payload 拼接 Header 并签名，返回完整 Token
+     */
+    private static String signPayload(SignerState state, Mac mac) {
+        ByteBuffer json = state.json;
+
+        // 拼接 Header.Payload 并计算签名
+        ByteBuffer token = state.token.reset();
+        token.write(HEADER_SEGMENT);
+        writeBase64Url(token, json.bytes, 0, json.length);
+        mac.update(token.bytes, 0, token.length);
+        try {
+            mac.doFinal(state.signature, 0);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("JWTPlayAuth 签名失败", e);
+        }
+
+        // 追加 .Signature
+        token.write((byte) '.');
+        writeBase64Url(token, state.signature, 0, SIGNATURE_LENGTH);
+        return new String(token.bytes, 0, token.length, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * 按 Jackson 默认规则写入 JSON 字符串内容（不含引号）：
+     * 转义 {@code "}、{@code \} 与控制字符，其余字符按 UTF-8 原样输出
+     */
+    private static void writeJsonString(ByteBuffer out, String value) {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                if (c >= 0x20 && c != '"' && c != '\\') {
+                    out.write((byte) c);
+                } else {
+                    writeEscaped(out, c);
+                }
+            } else if (c < 0x800) {
+                out.write((byte) (0xC0 | (c >> 6)));
+                out.write((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                out.write((byte) (0xF0 | (codePoint >> 18)));
+                out.write((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                out.write((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                out.write((byte) (0x80 | (codePoint & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                throw new IllegalArgumentException("包含不成对的代理字符: " + value);
+            } else {
+                out.write((byte) (0xE0 | (c >> 12)));
+                out.write((byte) (0x80 | ((c >> 6) & 0x3F)));
+                out.write((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    private static void writeEscaped(ByteBuffer out, char c) {
+        out.write((byte) '\\');
+        switch (c) {
+            case '"':
+            case '\\':
+                out.write((byte) c);
+                break;
+            case '\b':
+                out.write((byte) 'b');
+                break;
+            case '\f':
+                out.write((byte) 'f');
+                break;
+            case '\n':
+                out.write((byte) 'n');
+                break;
+            case '\r':
+                out.write((byte) 'r');
+                break;
+            case '\t':
+                out.write((byte) 't');
+                break;
+            default:
+                out.write((byte) 'u');
+                out.write((byte) '0');
+                out.write((byte) '0');
+                out.write(HEX_DIGITS[c >> 4]);
+                out.write(HEX_DIGITS[c & 0xF]);
+        }
+    }
+
+    private static void writeLong(ByteBuffer out, long value) {
+        if (value < 0) {
+            // 时间戳不会为负数，按通用方式处理即可
+            out.write(ascii(Long.toString(value)));
+            return;
+        }
+        int digits = 1;
+        for (long v = value; v >= 10; v /= 10) {
+            digits++;
+        }
+        out.ensureCapacity(digits);
+        for (int i = out.length + digits - 1; i >= out.length; i--) {
+            out.bytes[i] = (byte) ('0' + (value % 10));
+            value /= 10;
+        }
+        out.length += digits;
+    }
+
+    /**
+     * Base64Url 编码（无填充），直接写入目标缓冲区
+     */
+    private static void writeBase64Url(ByteBuffer out, byte[] src, int offset, int length) {
+        out.ensureCapacity((length + 2) / 3 * 4);
+        byte[] dst = out.bytes;
+        int p = out.length;
+        int end = offset + length - length % 3;
+        for (int i = offset; i < end; i += 3) {
+            int bits = (src[i] & 0xFF) << 16 | (src[i + 1] & 0xFF) << 8 | (src[i + 2] & 0xFF);
+            dst[p++] = BASE64_URL_ALPHABET[(bits >>> 18) & 0x3F];
+            dst[p++] = BASE64_URL_ALPHABET[(bits >>> 12) & 0x3F];
+            dst[p++] = BASE64_URL_ALPHABET[(bits >>> 6) & 0x3F];
+            dst[p++] = BASE64_URL_ALPHABET[bits & 0x3F];
+        }
+        int remaining = offset + length - end;
+        if (remaining == 1) {
+            int bits = (src[end] & 0xFF) << 16;
+            dst[p++] = BASE64_URL_ALPHABET[(bits >>> 18) & 0x3F];
+            dst[p++] = BASE64_URL_ALPHABET[(bits >>> 12) & 0x3F];
+        } else if (remaining == 2) {
+            int bits = (src[end] & 0xFF) << 16 | (src[end + 1] & 0xFF) << 8;
+            dst[p++] = BASE64_URL_ALPHABET[(bits >>> 18) & 0x3F];
+            dst[p++] = BASE64_URL_ALPHABET[(bits >>> 12) & 0x3F];
+            dst[p++] = BASE64_URL_ALPHABET[(bits >>> 6) & 0x3F];
+        }
+        out.length = p;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * 线程内复用的签名状态：Mac 实例与输出缓冲区
+     */
+    private static final class SignerState {
+        private final ByteBuffer json = new ByteBuffer(256);
+        private final ByteBuffer token = new ByteBuffer(512);
+        private final byte[] signature = new byte[SIGNATURE_LENGTH];
+        private Mac mac;
+        private String macKey;
+
+        Mac mac(String playKey) {
+            if (mac == null || !playKey.equals(macKey)) {
+                try {
+                    if (mac == null) {
+                        mac = Mac.getInstance(HMAC_SHA256);
+                    }
+                    mac.init(new SecretKeySpec(playKey.getBytes(StandardCharsets.UTF_8), HMAC_SHA256));
+                    macKey = playKey;
+                } catch (GeneralSecurityException e) {
+                    mac = null;
+                    macKey = null;
+                    throw new IllegalStateException("初始化 HmacSHA256 失败", e);
+                }
+            }
+            return mac;
+        }
+    }
+
+    /**
+     * 可增长的字节缓冲区
+     */
+    private static final class ByteBuffer {
+        private byte[] bytes;
+        private int length;
+
+        ByteBuffer(int initialCapacity) {
+            this.bytes = new byte[initialCapacity];
+        }
+
+        ByteBuffer reset() {
+            length = 0;
+            return this;
+        }
+
+        void ensureCapacity(int additional) {
+            if (length + additional > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + additional));
+            }
+        }
+
+        void write(byte b) {
+            ensureCapacity(1);
+            bytes[length++] = b;
+        }
+
+        void write(byte[] src) {
+            ensureCapacity(src.length);
+            System.arraycopy(src, 0, bytes, length, src.length);
+            length += src.length;
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.aliyun.appserver.reactive;
+
+import com.aliyun.appserver.config.VodConfig;
+import com.aliyun.appserver.entity.StreamingPlayList;
+import com.aliyun.appserver.result.CallResult;
+import com.aliyun.appserver.result.ResponseResult;
+import com.aliyun.appserver.result.ResultCode;
+import com.aliyun.appserver.service.PlayListService;
+import com.aliyun.appserver.support.Deadline;
+import com.aliyun.appserver.support.DeadlineExceededException;
+import com.aliyun.appserver.support.VodThrottledException;
+import com.aliyuncs.vod.model.v20170321.GetPlaylistsRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 播单聚合接口的响应式处理器（reactive profile）
+ *
+ * <p>
+ * 与 {@code PlayListController} 中的同名接口返回相同的结果，但请求线程（事件循环）不等待上游：
+ * 直接订阅 {@link PlayListService} 返回的 {@link CompletableFuture}，上游调用完成后再写出响应。
+ * 上游调用本身仍是阻塞的 SDK 调用（见 {@code VodSdkOffloadService}），每个进行中的调用占用 VOD I/O 线程池中的一个线程，
+ * 因此可同时进行的上游调用数受 {@code aliyun.vod.executor.max-pool-size} 限制（开启虚拟线程模式时不受平台线程数限制），
+ * 而不只是受连接数限制；超出后由线程池队列、舱壁与限流约束。
+ * </p>
+ *
+ * <p>
+ * 时间预算与 Servlet 模式一致（{@code aliyun.vod.request-timeout}）：发起调用时设置 {@link Deadline}，
+ * 使上游调用的读超时、重试与对冲受剩余时间约束，并以 {@link Mono#timeout(Duration)} 兜底。
+ * 被限流 / 超时分别返回 429 / 504，与全局异常处理一致。
+ * 条件请求同样与 Servlet 模式一致：响应带 {@code ETag}，{@code If-None-Match} 匹配时返回 304。
+ * </p>
+ *
+ * <p>
+ * 流式输出的播单详情（{@link StreamingPlayList}）不经过 Jackson 编码器（其会将整个响应体写入内存），
+ * 而是按分片生成响应体：客户端读取后才转换、签名并写出下一个分片，内存占用与播单大小无关。
+ * </p>
+ *
+ * <p>
+ * 其余直接透传到 VOD OpenAPI 的接口只有阻塞实现，由 {@link #blocking} 包装后在 boundedElastic 线程中调用原有控制器方法，
+ * 不在事件循环线程上等待上游，截止时间与错误处理同上。
+ * </p>
+ *
+ * @author: pxc
+ * @date: 2026/10/17 20:40
+ */
+@Component
+public class PlaylistHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(PlaylistHandler.class);
+
+    /**
+     * 不含视频的流式播单序列化后的视频列表（字段名与 {@link StreamingPlayList} 一致）
+     */
+    private static final byte[] EMPTY_VIDEOS = "\"playlistVideos\":[]".getBytes(StandardCharsets.UTF_8);
+
+    private static final DefaultDataBufferFactory BUFFERS = DefaultDataBufferFactory.sharedInstance;
+
+    private final PlayListService playListService;
+
+    private final VodConfig.RequestTimeout requestTimeout;
+
+    private final ObjectMapper objectMapper;
+
+    public PlaylistHandler(PlayListService playListService, VodConfig vodConfig, ObjectMapper objectMapper) {
+        this.playListService = playListService;
+        this.requestTimeout = vodConfig.getRequestTimeout();
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 获取播单详情，参数同 {@code /appServer/getPlaylistInfo?playListId=&pageNo=&pageSize=}
+     */
+    public Mono<ServerResponse> getPlaylistInfo(ServerRequest request) {
+        String playListId = request.queryParam("playListId").orElse(null);
+        Integer pageNo;
+        Integer pageSize;
+        try {
+            pageNo = request.queryParam("pageNo").map(Integer::valueOf).orElse(null);
+            pageSize = request.queryParam("pageSize").map(Integer::valueOf).orElse(null);
+        } catch (NumberFormatException e) {
+            return error(HttpStatus.BAD_REQUEST, ResultCode.PARAM_TYPE_BIND_ERROR);
+        }
+        String ifNoneMatch = request.headers().firstHeader(HttpHeaders.IF_NONE_MATCH);
+        return respond(request, () -> playListService.getPlaylistInfoAsync(playListId, pageNo, pageSize, ifNoneMatch));
+    }
+
+    /**
+     * 获取播单列表，请求体同 {@code /appServer/getPlaylistVideos}
+     */
+    public Mono<ServerResponse> getPlaylistVideos(ServerRequest request) {
+        String ifNoneMatch = request.headers().firstHeader(HttpHeaders.IF_NONE_MATCH);
+        return request.bodyToMono(GetPlaylistsRequest.class)
+                .defaultIfEmpty(new GetPlaylistsRequest())
+                .flatMap(body -> respond(request, () -> playListService.getPlaylistVideosAsync(body, ifNoneMatch)));
+    }
+
+    /**
+     * 包装只有阻塞实现的接口：请求体按 {@code bodyType} 解析后在 boundedElastic 线程中调用 {@code call}，
+     * 返回值直接作为 JSON 响应体
+     *
+     * @param bodyType 请求体类型，缺少请求体时返回 400
+     * @param call     阻塞调用，通常为原有控制器方法
+     */
+    public <B> HandlerFunction<ServerResponse> blocking(Class<B> bodyType, Function<B, ?> call) {
+        return request -> request.bodyToMono(bodyType)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(body -> body.isPresent()
+                        ? execute(request, () -> json(call.apply(body.get())))
+                        : error(HttpStatus.BAD_REQUEST, ResultCode.PARAM_IS_BLANK));
+    }
+
+    /**
+     * 包装只有阻塞实现、参数取自请求本身（如 Query 参数）的接口，规则同 {@link #blocking(Class, Function)}
+     */
+    public HandlerFunction<ServerResponse> blocking(Function<ServerRequest, ?> call) {
+        return request -> execute(request, () -> json(call.apply(request)));
+    }
+
+    private Mono<ServerResponse> respond(ServerRequest request, Supplier<CompletableFuture<CallResult>> call) {
+        return execute(request, () -> Mono.fromFuture(call.get()).flatMap(this::conditional));
+    }
+
+    /**
+     * 在请求截止时间内执行调用：调用在 boundedElastic 线程中发起（阻塞调用、线程池饱和时的 CallerRuns
+     * 都不能发生在事件循环线程上），限流 / 超时分别返回 429 / 504
+     */
+    private Mono<ServerResponse> execute(ServerRequest request, Supplier<Mono<ServerResponse>> call) {
+        Deadline deadline = requestTimeout.isEnabled()
+                ? Deadline.after(requestTimeout.resolveMillis(request.headers().firstHeader(requestTimeout.getHeader())))
+                : null;
+        Mono<ServerResponse> result = Mono.defer(() -> {
+            // 阻塞调用与提交到 VOD I/O 线程池的任务继承该截止时间
+            try (Deadline.Scope ignored = Deadline.attach(deadline)) {
+                return call.get();
+            }
+        }).subscribeOn(Schedulers.boundedElastic());
+        if (deadline != null) {
+            result = result.timeout(Duration.ofMillis(deadline.getTimeoutMillis()));
+        }
+        return result
+                .onErrorResume(VodThrottledException.class, e -> {
+                    log.warn("请求被限流: {}", e.getMessage());
+                    return error(HttpStatus.TOO_MANY_REQUESTS, ResultCode.UPSTREAM_THROTTLED);
+                })
+                .onErrorResume(e -> e instanceof DeadlineExceededException || e instanceof TimeoutException, e -> {
+                    log.warn("请求超时: {}", e.getMessage());
+                    return error(HttpStatus.GATEWAY_TIMEOUT, ResultCode.UPSTREAM_TIMEOUT);
+                });
+    }
+
+    /**
+     * 按结果中的 ETag 设置条件请求响应，规则同 {@code PlayListController}
+     */
+    private Mono<ServerResponse> conditional(CallResult body) {
+        if (body.getEtag() == null) {
+            return write(ServerResponse.ok(), body);
+        }
+        CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+        if (body.isNotModified()) {
+            return ServerResponse.status(HttpStatus.NOT_MODIFIED).eTag(body.getEtag()).cacheControl(cacheControl).build();
+        }
+        return write(ServerResponse.ok().eTag(body.getEtag()).cacheControl(cacheControl), body);
+    }
+
+    /**
+     * 写出 JSON 响应体；流式输出的播单详情按分片生成
+     */
+    private Mono<ServerResponse> write(ServerResponse.BodyBuilder builder, CallResult body) {
+        builder.contentType(MediaType.APPLICATION_JSON);
+        if (!(body.getData() instanceof StreamingPlayList)) {
+            return builder.bodyValue(body);
+        }
+        StreamingPlayList playList = (StreamingPlayList) body.getData();
+        byte[] head;
+        byte[] tail;
+        try {
+            // 先序列化不含视频的响应，在 playlistVideos 空数组处拆分为前后两段，视频分片写在两段之间
+            CallResult<Object> envelope = new CallResult<>();
+            envelope.setCode(body.getCode());
+            envelope.setHttpCode(body.getHttpCode());
+            envelope.setSuccess(body.getSuccess());
+            envelope.setMessage(body.getMessage());
+            envelope.setRequestId(body.getRequestId());
+            envelope.setData(playList.withoutItems());
+            byte[] json = objectMapper.writeValueAsBytes(envelope);
+            int split = lastIndexOf(json, EMPTY_VIDEOS) + EMPTY_VIDEOS.length - 1;
+            head = Arrays.copyOfRange(json, 0, split);
+            tail = Arrays.copyOfRange(json, split, json.length);
+        } catch (IOException e) {
+            return Mono.error(e);
+        }
+        Flux<DataBuffer> items = Flux.range(0, playList.getChunkCount()).map(index -> {
+            try {
+                // 序列化为 JSON 数组后去掉首尾的方括号，分片之间以逗号分隔
+                byte[] chunk = objectMapper.writeValueAsBytes(playList.getChunk(index));
+                int offset = index == 0 ? 1 : 0;
+                if (index > 0) {
+                    chunk[0] = ',';
+                }
+                return BUFFERS.wrap(ByteBuffer.wrap(chunk, offset, chunk.length - 1 - offset));
+            } catch (IOException e) {
+                throw Exceptions.propagate(e);
+            }
+        });
+        return builder.body(BodyInserters.fromDataBuffers(
+                Flux.concat(Mono.just(BUFFERS.wrap(head)), items, Mono.just(BUFFERS.wrap(tail)))));
+    }
+
+    private static int lastIndexOf(byte[] array, byte[] target) {
+        outer:
+        for (int i = array.length - target.length; i >= 0; i--) {
+            for (int j = 0; j < target.length; j++) {
+                if (array[i + j] != target[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        throw new IllegalStateException("响应中缺少 playlistVideos 字段");
+    }
+
+    private static Mono<ServerResponse> json(Object body) {
+        return body != null
+                ? ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(body)
+                : ServerResponse.ok().build();
+    }
+
+    private static Mono<ServerResponse> error(HttpStatus status, ResultCode resultCode) {
+        CallResult<Object> result = ResponseResult.makeRsp(resultCode);
+        result.setSuccess(false);
+        result.setHttpCode(String.valueOf(status.value()));
+        return ServerResponse.status(status).contentType(MediaType.APPLICATION_JSON).bodyValue(result);
+    }
+}
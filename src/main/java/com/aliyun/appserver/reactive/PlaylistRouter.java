@@ -0,0 +1,87 @@
+package com.aliyun.appserver.reactive;
+
+import com.aliyun.appserver.controller.MpsController;
+import com.aliyun.appserver.controller.PlayListController;
+import com.aliyuncs.vod.model.v20170321.*;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.reactive.CorsWebFilter;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+import org.springframework.web.reactive.function.server.RequestPredicate;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+import static org.springframework.web.reactive.function.server.RequestPredicates.POST;
+import static org.springframework.web.reactive.function.server.RequestPredicates.queryParam;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/**
+ * 播单聚合接口的响应式路由（reactive profile）
+ *
+ * <p>
+ * 路由与 {@code PlayListController} 中的同名接口一致；WebFlux 中函数式路由优先于注解控制器匹配，
+ * 因此播单聚合接口由 {@link PlaylistHandler} 处理，事件循环线程不等待上游（上游调用在 VOD I/O 线程池中执行）。
+ * </p>
+ *
+ * <p>
+ * 其余接口（播单增删改查透传、提交转码任务）只有阻塞实现，WebFlux 会直接在事件循环线程上调用注解控制器，
+ * 上游较慢时阻塞该线程上的所有连接；因此同样在这里路由，经 {@link PlaylistHandler#blocking} 在 boundedElastic
+ * 线程中调用原有控制器方法（写接口的播单变更事件仍由控制器发布）。{@code /appServer/health} 不访问上游，仍由控制器处理。
+ * </p>
+ *
+ * @author: pxc
+ * @date: 2026/10/17 20:40
+ */
+@Configuration
+public class PlaylistRouter {
+
+    @Bean
+    public RouterFunction<ServerResponse> playlistRoutes(PlaylistHandler handler) {
+        return route(GET("/appServer/getPlaylistInfo").or(POST("/appServer/getPlaylistInfo")), handler::getPlaylistInfo)
+                .andRoute(GET("/appServer/getPlaylistVideos").or(POST("/appServer/getPlaylistVideos")), handler::getPlaylistVideos);
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> blockingRoutes(PlaylistHandler handler, PlayListController playList, MpsController mps) {
+        return route(getOrPost("/appServer/createPlaylist"), handler.blocking(CreatePlaylistRequest.class, playList::CreatePlaylist))
+                .andRoute(getOrPost("/appServer/deletePlaylists"), handler.blocking(DeletePlaylistsRequest.class, playList::deletePlaylists))
+                .andRoute(getOrPost("/appServer/getPlaylist"), handler.blocking(GetPlaylistRequest.class, playList::getPlaylist))
+                .andRoute(getOrPost("/appServer/getPlaylists"), handler.blocking(GetPlaylistsRequest.class, playList::getPlaylists))
+                .andRoute(getOrPost("/appServer/updatePlaylistBasicInfo"),
+                        handler.blocking(UpdatePlaylistBasicInfoRequest.class, playList::updatePlaylistBasicInfo))
+                .andRoute(getOrPost("/appServer/updatePlaylistVideoBasicInfo"),
+                        handler.blocking(UpdatePlaylistVideoBasicInfoRequest.class, playList::updatePlaylistVideoBasicInfo))
+                .andRoute(getOrPost("/appServer/updatePlaylistVideos"),
+                        handler.blocking(UpdatePlaylistVideosRequest.class, playList::updatePlaylistVideos))
+                .andRoute(getOrPost("/appServer/addPlaylistVideos"), handler.blocking(AddPlaylistVideosRequest.class, playList::addPlaylistVideos))
+                .andRoute(getOrPost("/appServer/deletePlaylistVideos"),
+                        handler.blocking(DeletePlaylistVideosRequest.class, playList::deletePlaylistVideos))
+                // 缺少必填参数时不匹配，由控制器返回 400
+                .andRoute(getOrPost("/submitTransCodeJob").and(queryParam("videoId", v -> true)).and(queryParam("templateGroupId", v -> true)),
+                        handler.blocking(request -> mps.submitTransCodeJob(request.queryParam("videoId").get(),
+                                request.queryParam("templateGroupId").get())));
+    }
+
+    private static RequestPredicate getOrPost(String path) {
+        return GET(path).or(POST(path));
+    }
+
+    /**
+     * 跨域配置，与控制器上的 {@code @CrossOrigin} 保持一致（函数式路由不识别该注解）
+     */
+    @Bean
+    public CorsWebFilter playlistCorsFilter() {
+        CorsConfiguration config = new CorsConfiguration();
+        config.setAllowedOrigins(Collections.singletonList("*"));
+        config.setAllowedHeaders(Collections.singletonList("*"));
+        config.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/appServer/**", config);
+        return new CorsWebFilter(source);
+    }
+}
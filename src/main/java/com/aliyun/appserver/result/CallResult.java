@@ -1,5 +1,6 @@
 package com.aliyun.appserver.result;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -59,6 +60,20 @@ public class CallResult<T> {
     @Setter
     private String requestId;
 
+    /**
+     * 响应内容的实体标签（ETag），由控制层写入响应头，不参与序列化
+     */
+    @JsonIgnore
+    @Setter
+    private String etag;
+
+    /**
+     * 请求的 {@code If-None-Match} 与 {@link #etag} 匹配，控制层应返回 304 且不输出响应体；不参与序列化
+     */
+    @JsonIgnore
+    @Setter
+    private boolean notModified;
+
     /**
      * 使用 {@link ResultCode} 设置业务状态码的便捷方法
      */
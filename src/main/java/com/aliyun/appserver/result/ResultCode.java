@@ -35,7 +35,17 @@ public enum ResultCode {
     /**
      * 系统内部错误
      */
-    SYSTEM_INNER_ERROR(40001, "系统繁忙，请稍后重试");
+    SYSTEM_INNER_ERROR(40001, "系统繁忙，请稍后重试"),
+
+    /**
+     * 上游 OpenAPI 调用超出本地限流配额（对应 HTTP 429）
+     */
+    UPSTREAM_THROTTLED(40002, "请求过于频繁，请稍后重试"),
+
+    /**
+     * 请求处理超出时间预算（对应 HTTP 504）
+     */
+    UPSTREAM_TIMEOUT(40003, "请求处理超时，请稍后重试");
 
     /**
      * 业务状态码
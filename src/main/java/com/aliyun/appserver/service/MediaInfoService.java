@@ -0,0 +1,39 @@
+package com.aliyun.appserver.service;
+
+import com.aliyuncs.vod.model.v20170321.GetImageInfosResponse;
+import com.aliyuncs.vod.model.v20170321.GetVideoInfosResponse;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 媒资信息（视频 / 图片）查询服务接口
+ *
+ * <p>
+ * 按 ID 查询视频与图片信息。并发请求的查询会在很短的时间窗口内合并为一次
+ * {@code GetVideoInfos} / {@code GetImageInfos} 调用（单次不超过接口的 ID 数上限），
+ * 以减少上游调用次数。查询结果按 ID 缓存，不存在的 ID 也会短时间缓存。
+ * </p>
+ *
+ * @author: pxc
+ * @date: 2026/10/17 16:30
+ */
+public interface MediaInfoService {
+
+    /**
+     * 批量查询视频信息
+     *
+     * @param videoIds 视频ID
+     * @return 存在的视频ID到视频信息的映射
+     */
+    CompletableFuture<Map<String, GetVideoInfosResponse.Video>> getVideoInfos(Collection<String> videoIds);
+
+    /**
+     * 批量查询图片信息
+     *
+     * @param imageIds 图片ID
+     * @return 存在的图片ID到图片信息的映射
+     */
+    CompletableFuture<Map<String, GetImageInfosResponse.Image>> getImageInfos(Collection<String> imageIds);
+}
@@ -0,0 +1,26 @@
+package com.aliyun.appserver.service;
+
+import java.util.List;
+
+/**
+ * 播放凭证（JWTPlayAuth）服务接口
+ *
+ * <p>
+ * 使用配置的地域与应用 ID 为视频批量签发本地播放凭证；
+ * 开启 {@code aliyun.vod.play-auth-cache.enabled} 后，仍在有效期内的 Token 会被复用。
+ * </p>
+ *
+ * @author: pxc
+ * @date: 2026/10/17 15:40
+ */
+public interface PlayAuthService {
+
+    /**
+     * 批量获取视频的播放凭证
+     *
+     * @param videoIds 视频ID列表
+     * @param playKey  播放密钥
+     * @return 与 {@code videoIds} 一一对应的 Token 列表；videoId 为空或签名失败时对应位置为 {@code null}
+     */
+    List<String> getPlayAuths(List<String> videoIds, String playKey);
+}
@@ -0,0 +1,43 @@
+package com.aliyun.appserver.service;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 播放密钥（PlayKey）服务接口
+ *
+ * <p>
+ * 负责获取并缓存各应用的播放密钥，供本地签发 JWTPlayAuth 使用：
+ * <ul>
+ *     <li>到期前在后台提前刷新，请求线程无需等待</li>
+ *     <li>同一应用的并发加载合并为一次 {@code GetAppPlayKey} 调用</li>
+ *     <li>VOD 不可用时，在有限时间内继续使用最后一次成功获取的密钥</li>
+ * </ul>
+ * </p>
+ *
+ * @author: pxc
+ * @date: 2026/10/17 14:30
+ */
+public interface PlayKeyService {
+
+    /**
+     * 获取默认应用（{@code aliyun.vod.play-key.app-id}）的播放密钥
+     *
+     * @return 播放密钥；无法获取且无可用旧值时返回 {@code null}
+     */
+    String getPlayKey();
+
+    /**
+     * 获取指定应用的播放密钥
+     *
+     * @param appId 应用 ID
+     * @return 播放密钥；无法获取且无可用旧值时返回 {@code null}
+     */
+    String getPlayKey(String appId);
+
+    /**
+     * 异步获取默认应用的播放密钥，命中本地缓存时直接返回已完成的结果，不占用线程
+     *
+     * @return 播放密钥；无法获取且无可用旧值时结果为 {@code null}
+     */
+    CompletableFuture<String> getPlayKeyAsync();
+}
@@ -3,6 +3,8 @@ package com.aliyun.appserver.service;
 import com.aliyun.appserver.result.CallResult;
 import com.aliyuncs.vod.model.v20170321.GetPlaylistsRequest;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * 播单业务服务接口
  *
@@ -12,7 +14,8 @@ import com.aliyuncs.vod.model.v20170321.GetPlaylistsRequest;
  *     <li>播单详情查询（含视频列表与播放凭证）</li>
  *     <li>播单列表查询（含预览视频与封面处理）</li>
  * </ul>
- * 返回统一的 {@link CallResult} 结果模型。
+ * 返回统一的 {@link CallResult} 结果模型。成功结果带有按内容计算的 ETag（{@link CallResult#getEtag()}），
+ * 传入的 {@code If-None-Match} 与之匹配时返回未修改结果（{@link CallResult#isNotModified()}），不含业务数据。
  * </p>
  *
  * @author: pxc
@@ -28,6 +31,24 @@ public interface PlayListService {
      */
     CallResult getPlaylistInfo(String playListId);
 
+    /**
+     * 分页获取单个播单详情：只返回指定页的视频并为其签发播放凭证，{@code total} 仍为播单视频总数
+     *
+     * @param playListId 播单 ID，可为空；为空时由实现决定默认行为
+     * @param pageNo     页码，从 1 开始；与 {@code pageSize} 均为空时返回全部视频
+     * @param pageSize   每页视频数
+     * @return 统一封装的业务结果
+     */
+    CallResult getPlaylistInfo(String playListId, Integer pageNo, Integer pageSize);
+
+    /**
+     * 条件获取单个播单详情，参数同 {@link #getPlaylistInfo(String, Integer, Integer)}
+     *
+     * @param ifNoneMatch 请求头 If-None-Match，可为空
+     * @return 统一封装的业务结果；ETag 匹配时为未修改结果，不签发播放凭证
+     */
+    CallResult getPlaylistInfo(String playListId, Integer pageNo, Integer pageSize, String ifNoneMatch);
+
     /**
      * 分页获取播单列表（含预览视频和播放凭证等增强信息）
      *
@@ -35,4 +56,52 @@ public interface PlayListService {
      * @return 统一封装的业务结果
      */
     CallResult getPlaylistVideos(GetPlaylistsRequest request);
+
+    /**
+     * 条件获取播单列表，参数同 {@link #getPlaylistVideos(GetPlaylistsRequest)}
+     *
+     * @param ifNoneMatch 请求头 If-None-Match，可为空
+     * @return 统一封装的业务结果；ETag 匹配时为未修改结果，不签发播放凭证
+     */
+    CallResult getPlaylistVideos(GetPlaylistsRequest request, String ifNoneMatch);
+
+    /**
+     * 异步获取单个播单详情，上游调用以非阻塞方式组合，不占用调用方线程
+     *
+     * @param playListId 播单 ID，可为空
+     * @return 统一封装的业务结果；被限流或超出请求时间预算时以对应异常完成
+     */
+    CompletableFuture<CallResult> getPlaylistInfoAsync(String playListId);
+
+    /**
+     * 异步分页获取单个播单详情，参数同 {@link #getPlaylistInfo(String, Integer, Integer)}
+     *
+     * @param playListId 播单 ID，可为空
+     * @param pageNo     页码，从 1 开始
+     * @param pageSize   每页视频数
+     * @return 统一封装的业务结果；被限流或超出请求时间预算时以对应异常完成
+     */
+    CompletableFuture<CallResult> getPlaylistInfoAsync(String playListId, Integer pageNo, Integer pageSize);
+
+    /**
+     * 异步条件获取单个播单详情，参数同 {@link #getPlaylistInfo(String, Integer, Integer, String)}
+     *
+     * @return 统一封装的业务结果；被限流或超出请求时间预算时以对应异常完成
+     */
+    CompletableFuture<CallResult> getPlaylistInfoAsync(String playListId, Integer pageNo, Integer pageSize, String ifNoneMatch);
+
+    /**
+     * 异步分页获取播单列表，上游调用以非阻塞方式组合，不占用调用方线程
+     *
+     * @param request 播单列表查询请求参数
+     * @return 统一封装的业务结果；被限流或超出请求时间预算时以对应异常完成
+     */
+    CompletableFuture<CallResult> getPlaylistVideosAsync(GetPlaylistsRequest request);
+
+    /**
+     * 异步条件获取播单列表，参数同 {@link #getPlaylistVideos(GetPlaylistsRequest, String)}
+     *
+     * @return 统一封装的业务结果；被限流或超出请求时间预算时以对应异常完成
+     */
+    CompletableFuture<CallResult> getPlaylistVideosAsync(GetPlaylistsRequest request, String ifNoneMatch);
 }
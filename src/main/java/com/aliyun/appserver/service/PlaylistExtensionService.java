@@ -0,0 +1,26 @@
+package com.aliyun.appserver.service;
+
+import com.aliyun.appserver.entity.PlaylistExtension;
+import com.aliyuncs.vod.model.v20170321.GetPlaylistsResponse;
+
+/**
+ * 播单扩展信息（PlaylistExtension）解析服务接口
+ *
+ * <p>
+ * 将播单的 {@code PlaylistExtension} JSON 字符串解析为 {@link PlaylistExtension}。
+ * 解析结果按 (playlistId, modifyTime) 缓存，播单未修改时不重复解析。
+ * </p>
+ *
+ * @author: pxc
+ * @date: 2026/10/17 21:50
+ */
+public interface PlaylistExtensionService {
+
+    /**
+     * 解析播单的扩展信息
+     *
+     * @param playlist 播单（{@code PlayList} 同样适用）
+     * @return 扩展信息；为空或无法解析时返回 {@link PlaylistExtension#EMPTY}，不会返回 {@code null}
+     */
+    PlaylistExtension getExtension(GetPlaylistsResponse.PlaylistDO playlist);
+}
@@ -0,0 +1,44 @@
+package com.aliyun.appserver.service;
+
+import com.aliyun.appserver.entity.PlaylistSnapshot;
+
+import java.util.List;
+
+/**
+ * 播单快照服务接口
+ *
+ * <p>
+ * 后台定期同步全部播单，生成封面图、预览视频均已解析的 {@link PlaylistSnapshot}，
+ * 播单接口优先从快照读取，请求路径上不再访问 VOD OpenAPI。
+ * 快照不可用（未开启、未就绪、过期，或对应播单刚被修改）时返回 {@code null}，调用方应回退为实时查询。
+ * </p>
+ *
+ * @author: pxc
+ * @date: 2026/10/17 22:10
+ */
+public interface PlaylistSnapshotService {
+
+    /**
+     * 获取单个播单的快照数据
+     *
+     * @param playlistId 播单 ID
+     * @return 快照数据；快照不可用或不包含该播单时返回 {@code null}
+     */
+    PlaylistSnapshot.Entry getPlaylist(String playlistId);
+
+    /**
+     * 按 GetPlaylists 默认排序分页获取播单的快照数据
+     *
+     * @param pageNo   页码，从 1 开始
+     * @param pageSize 每页数量
+     * @return 当前页的快照数据，超出范围时为空列表；快照不可用时返回 {@code null}
+     */
+    List<PlaylistSnapshot.Entry> getPlaylists(int pageNo, int pageSize);
+
+    /**
+     * 立即同步一次快照，失败时保留上一次的快照
+     *
+     * @return 是否同步成功
+     */
+    boolean sync();
+}
@@ -0,0 +1,59 @@
+package com.aliyun.appserver.service;
+
+import com.aliyuncs.vod.model.v20170321.*;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * VOD SDK 调用卸载服务接口
+ *
+ * <p>
+ * 将 {@link VodSdkService} 的只读接口提交到 VOD I/O 线程池执行并返回 {@link CompletableFuture}，
+ * 供需要并发调用多个上游接口的业务聚合使用，调用方通过组合返回的 {@link CompletableFuture} 编排调用，
+ * 而不是自行 {@code supplyAsync} 包装同步接口。
+ * </p>
+ *
+ * <p>
+ * 调用方线程不被阻塞，但底层 HTTP 调用仍是阻塞的：每个进行中的上游调用占用 VOD I/O 线程池中的一个线程
+ * （开启虚拟线程模式时为一个虚拟线程），并发上游调用数受线程池大小限制。
+ * </p>
+ *
+ * <p>
+ * 返回结果、缓存、容错与异常处理与同步接口一致：上游调用失败时返回空响应，
+ * 被限流或超出请求时间预算时以对应异常完成。
+ * </p>
+ *
+ * @author: pxc
+ * @date: 2026/10/17 20:10
+ */
+public interface VodSdkOffloadService {
+
+    /**
+     * 查询单个播单
+     */
+    CompletableFuture<GetPlaylistResponse> getPlaylist(GetPlaylistRequest request);
+
+    /**
+     * 查询播单列表
+     */
+    CompletableFuture<GetPlaylistsResponse> getPlaylists(GetPlaylistsRequest request);
+
+    /**
+     * 批量获取视频信息
+     *
+     * @param videoIds 视频ID，多个用逗号分隔
+     */
+    CompletableFuture<GetVideoInfosResponse> getVideoInfos(String videoIds);
+
+    /**
+     * 批量获取图片信息
+     *
+     * @param imageIds 图片ID，多个用逗号分隔
+     */
+    CompletableFuture<GetImageInfosResponse> getImageInfos(String imageIds);
+
+    /**
+     * 查询播放密钥
+     */
+    CompletableFuture<GetAppPlayKeyResponse> getAppPlayKey(String appId);
+}
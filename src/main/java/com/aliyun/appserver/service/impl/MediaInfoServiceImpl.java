@@ -0,0 +1,288 @@
+package com.aliyun.appserver.service.impl;
+
+import com.aliyun.appserver.config.VodConfig;
+import com.aliyun.appserver.service.MediaInfoService;
+import com.aliyun.appserver.service.VodSdkService;
+import com.aliyun.appserver.support.MicroBatcher;
+import com.aliyun.appserver.support.SharedCacheTier;
+import com.aliyuncs.vod.model.v20170321.GetImageInfosResponse;
+import com.aliyuncs.vod.model.v20170321.GetVideoInfosResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 媒资信息（视频 / 图片）查询服务实现类
+ *
+ * <p>
+ * 视频与图片各使用一个 {@link MicroBatcher}：在 {@code aliyun.vod.batch.window-millis} 窗口内收集 ID，
+ * 按 {@code max-batch-size}（VOD 接口单次最多 20 个 ID）分批调用上游。批量调用在专用线程池
+ * （{@code dispatch-threads}）中执行，队列满时该批次直接失败：窗口计时器线程只负责触发，不会代为执行阻塞的上游调用。
+ * </p>
+ *
+ * <p>
+ * 查询结果按 ID 缓存（{@code aliyun.vod.cache.video / image}），一次查询中只有未命中的 ID 会访问上游；
+ * VOD 明确返回不存在的 ID（{@code NonExistVideoIds / NonExistImageIds}）按 {@code negative-ttl-seconds}
+ * 缓存为"不存在"，调用失败时不写入缓存。
+ * </p>
+ *
+ * <p>
+ * 开启共享缓存时，批量查询在访问上游前先查共享缓存（Redis），上游查询结果同时写入共享缓存，
+ * 多个实例共享同一份视频 / 图片信息。
+ * </p>
+ *
+ * @author: pxc
+ * @date: 2026/10/17 16:30
+ */
+@Service
+public class MediaInfoServiceImpl implements MediaInfoService {
+
+    private final VodSdkService vodSdkService;
+
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * 执行批量调用的线程池，拒绝时抛出异常（不在提交线程上执行）
+     */
+    private final ThreadPoolExecutor dispatcher;
+
+    private final MicroBatcher<String, GetVideoInfosResponse.Video> videoBatcher;
+
+    private final MicroBatcher<String, GetImageInfosResponse.Image> imageBatcher;
+
+    /**
+     * 视频信息缓存，{@link Optional#empty()} 表示 VOD 确认不存在
+     */
+    private final Cache<String, Optional<GetVideoInfosResponse.Video>> videos;
+
+    /**
+     * 图片信息缓存，{@link Optional#empty()} 表示 VOD 确认不存在
+     */
+    private final Cache<String, Optional<GetImageInfosResponse.Image>> images;
+
+    /**
+     * 共享缓存，未开启时为 {@code null}
+     */
+    private final SharedCacheTier sharedCache;
+
+    private final VodConfig.Cache cacheConfig;
+
+    public MediaInfoServiceImpl(VodSdkService vodSdkService, VodConfig vodConfig, MeterRegistry meterRegistry,
+                                ObjectProvider<SharedCacheTier> sharedCacheTier) {
+        this.vodSdkService = vodSdkService;
+        this.sharedCache = sharedCacheTier.getIfAvailable();
+        this.cacheConfig = vodConfig.getCache();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "vod-batch-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        VodConfig.Batch config = vodConfig.getBatch();
+        int dispatchThreads = Math.max(1, config.getDispatchThreads());
+        AtomicInteger threadCount = new AtomicInteger();
+        this.dispatcher = new ThreadPoolExecutor(dispatchThreads, dispatchThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(Math.max(1, config.getDispatchQueueCapacity())), runnable -> {
+            Thread thread = new Thread(runnable, "vod-batch-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+        this.dispatcher.allowCoreThreadTimeOut(true);
+        this.videoBatcher = new MicroBatcher<>("GetVideoInfos", config.getWindowMillis(), config.getMaxBatchSize(),
+                this::loadVideos, dispatcher, scheduler, meterRegistry);
+        this.imageBatcher = new MicroBatcher<>("GetImageInfos", config.getWindowMillis(), config.getMaxBatchSize(),
+                this::loadImages, dispatcher, scheduler, meterRegistry);
+
+        this.videos = buildCache(vodConfig.getCache().getVideo());
+        this.images = buildCache(vodConfig.getCache().getImage());
+        CaffeineCacheMetrics.monitor(meterRegistry, videos, "vod.video");
+        CaffeineCacheMetrics.monitor(meterRegistry, images, "vod.image");
+    }
+
+    /**
+     * 构建按 ID 缓存：存在的结果按 {@code ttl-seconds} 过期，不存在的结果按 {@code negative-ttl-seconds} 过期
+     */
+    private static <V> Cache<String, Optional<V>> buildCache(VodConfig.CacheSpec spec) {
+        long ttlNanos = TimeUnit.SECONDS.toNanos(spec.getTtlSeconds());
+        long negativeTtlNanos = TimeUnit.SECONDS.toNanos(spec.getNegativeTtlSeconds());
+        return Caffeine.newBuilder()
+                .maximumSize(spec.getMaximumSize())
+                .expireAfter(new Expiry<String, Optional<V>>() {
+                    @Override
+                    public long expireAfterCreate(String key, Optional<V> value, long currentTime) {
+                        return value.isPresent() ? ttlNanos : negativeTtlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Optional<V> value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Optional<V> value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdown();
+        dispatcher.shutdown();
+    }
+
+    @Override
+    public CompletableFuture<Map<String, GetVideoInfosResponse.Video>> getVideoInfos(Collection<String> videoIds) {
+        return lookup(videoIds, videos, videoBatcher);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, GetImageInfosResponse.Image>> getImageInfos(Collection<String> imageIds) {
+        return lookup(imageIds, images, imageBatcher);
+    }
+
+    /**
+     * 先查本地缓存，只将未命中的 ID 交给批量聚合器查询上游
+     */
+    private static <V> CompletableFuture<Map<String, V>> lookup(Collection<String> ids, Cache<String, Optional<V>> cache,
+                                                               MicroBatcher<String, V> batcher) {
+        Map<String, V> result = new HashMap<>();
+        if (ids == null || ids.isEmpty()) {
+            return CompletableFuture.completedFuture(result);
+        }
+        Set<String> missingIds = new LinkedHashSet<>();
+        for (String id : ids) {
+            if (id == null || id.trim().isEmpty()) {
+                continue;
+            }
+            Optional<V> cached = cache.getIfPresent(id);
+            if (cached == null) {
+                missingIds.add(id);
+            } else {
+                cached.ifPresent(value -> result.put(id, value));
+            }
+        }
+        if (missingIds.isEmpty()) {
+            return CompletableFuture.completedFuture(result);
+        }
+        return batcher.loadAll(missingIds).thenApply(loaded -> {
+            result.putAll(loaded);
+            return result;
+        });
+    }
+
+    private Map<String, GetVideoInfosResponse.Video> loadVideos(List<String> videoIds) {
+        Map<String, GetVideoInfosResponse.Video> result = new HashMap<>();
+        List<String> missingIds = loadShared("vod.video", videoIds, GetVideoInfosResponse.Video.class, videos, result);
+        if (missingIds.isEmpty()) {
+            return result;
+        }
+        Map<String, GetVideoInfosResponse.Video> loaded = new HashMap<>();
+        GetVideoInfosResponse response = vodSdkService.GetVideoInfos(String.join(",", missingIds));
+        if (response != null && response.getVideoList() != null) {
+            response.getVideoList().forEach(video -> {
+                if (video.getVideoId() != null) {
+                    loaded.put(video.getVideoId(), video);
+                    videos.put(video.getVideoId(), Optional.of(video));
+                }
+            });
+        }
+        List<String> nonExistIds = response != null ? response.getNonExistVideoIds() : null;
+        cacheNonExist(videos, nonExistIds);
+        storeShared("vod.video", cacheConfig.getVideo(), loaded, nonExistIds);
+        result.putAll(loaded);
+        return result;
+    }
+
+    private Map<String, GetImageInfosResponse.Image> loadImages(List<String> imageIds) {
+        Map<String, GetImageInfosResponse.Image> result = new HashMap<>();
+        List<String> missingIds = loadShared("vod.image", imageIds, GetImageInfosResponse.Image.class, images, result);
+        if (missingIds.isEmpty()) {
+            return result;
+        }
+        Map<String, GetImageInfosResponse.Image> loaded = new HashMap<>();
+        GetImageInfosResponse response = vodSdkService.GetImageInfos(String.join(",", missingIds));
+        if (response != null && response.getImageInfo() != null) {
+            response.getImageInfo().forEach(image -> {
+                if (image.getImageId() != null) {
+                    loaded.put(image.getImageId(), image);
+                    images.put(image.getImageId(), Optional.of(image));
+                }
+            });
+        }
+        List<String> nonExistIds = response != null ? response.getNonExistImageIds() : null;
+        cacheNonExist(images, nonExistIds);
+        storeShared("vod.image", cacheConfig.getImage(), loaded, nonExistIds);
+        result.putAll(loaded);
+        return result;
+    }
+
+    /**
+     * 先查共享缓存：命中的结果写入本地缓存并加入 {@code result}，返回仍需查询上游的 ID
+     */
+    private <V> List<String> loadShared(String cacheName, List<String> ids, Class<V> type,
+                                        Cache<String, Optional<V>> cache, Map<String, V> result) {
+        if (sharedCache == null) {
+            return ids;
+        }
+        Map<String, Optional<V>> shared = sharedCache.getAll(cacheName, ids, type);
+        if (shared.isEmpty()) {
+            return ids;
+        }
+        List<String> missingIds = new ArrayList<>();
+        for (String id : ids) {
+            Optional<V> value = shared.get(id);
+            if (value == null) {
+                missingIds.add(id);
+            } else {
+                cache.put(id, value);
+                value.ifPresent(v -> result.put(id, v));
+            }
+        }
+        return missingIds;
+    }
+
+    /**
+     * 将上游查询结果写入共享缓存，不存在的 ID 按 {@code negative-ttl-seconds} 缓存
+     */
+    private void storeShared(String cacheName, VodConfig.CacheSpec spec, Map<String, ?> loaded, List<String> nonExistIds) {
+        if (sharedCache == null) {
+            return;
+        }
+        sharedCache.putAll(cacheName, loaded, spec.getTtlSeconds());
+        if (nonExistIds != null && !nonExistIds.isEmpty()) {
+            Map<String, Object> nonExist = new HashMap<>();
+            nonExistIds.forEach(id -> nonExist.put(id, null));
+            sharedCache.putAll(cacheName, nonExist, spec.getNegativeTtlSeconds());
+        }
+    }
+
+    private static <V> void cacheNonExist(Cache<String, Optional<V>> cache, List<String> nonExistIds) {
+        if (nonExistIds != null) {
+            nonExistIds.forEach(id -> cache.put(id, Optional.empty()));
+        }
+    }
+}
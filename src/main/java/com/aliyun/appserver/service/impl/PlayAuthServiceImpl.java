@@ -0,0 +1,161 @@
+package com.aliyun.appserver.service.impl;
+
+import com.aliyun.appserver.config.VodConfig;
+import com.aliyun.appserver.jwt.JwtConstants;
+import com.aliyun.appserver.jwt.JwtUtil;
+import com.aliyun.appserver.service.PlayAuthService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 播放凭证（JWTPlayAuth）服务实现类
+ *
+ * <p>
+ * 未开启缓存时每次直接批量签名；开启后按 (videoId, playKey, regionId) 缓存已签发的 Token：
+ * <ul>
+ *     <li>写入后 {@code EXPIRED_TIME_MILLS - safetyMargin} 过期，保证返回的 Token 仍有足够的剩余有效期</li>
+ *     <li>按条目数限制容量，超出后按 W-TinyLFU 策略淘汰</li>
+ *     <li>发现播放密钥变化（轮换）时清空缓存</li>
+ *     <li>只对未命中的视频批量签名</li>
+ * </ul>
+ * </p>
+ *
+ * @author: pxc
+ * @date: 2026/10/17 15:40
+ */
+@Service
+public class PlayAuthServiceImpl implements PlayAuthService {
+
+    private static final Logger log = LoggerFactory.getLogger(PlayAuthServiceImpl.class);
+
+    private final VodConfig vodConfig;
+
+    /**
+     * Token 缓存，未开启时为 {@code null}
+     */
+    private final Cache<TokenKey, String> tokens;
+
+    /**
+     * 最近一次使用的播放密钥，用于发现密钥轮换
+     */
+    private volatile String currentPlayKey;
+
+    public PlayAuthServiceImpl(VodConfig vodConfig, MeterRegistry meterRegistry) {
+        this.vodConfig = vodConfig;
+
+        VodConfig.PlayAuthCache config = vodConfig.getPlayAuthCache();
+        if (config.isEnabled()) {
+            long ttlMillis = Math.max(1000, JwtConstants.EXPIRED_TIME_MILLS - config.getSafetyMarginSeconds() * 1000);
+            this.tokens = Caffeine.newBuilder()
+                    .maximumSize(config.getMaximumSize())
+                    .expireAfterWrite(ttlMillis, TimeUnit.MILLISECONDS)
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, tokens, "vod.playAuth");
+            log.info("JWTPlayAuth 本地缓存已开启，容量: {}, 复用时长: {}s", config.getMaximumSize(), ttlMillis / 1000);
+        } else {
+            this.tokens = null;
+        }
+    }
+
+    @Override
+    public List<String> getPlayAuths(List<String> videoIds, String playKey) {
+        String regionId = vodConfig.getRegion() != null && !vodConfig.getRegion().trim().isEmpty()
+                ? vodConfig.getRegion()
+                : JwtConstants.DEFAULT_REGION_ID;
+        String appId = vodConfig.getPlayKey().getAppId();
+
+        if (tokens == null || videoIds == null || videoIds.isEmpty()) {
+            return JwtUtil.getPlayAuthTokens(videoIds, playKey, regionId, appId);
+        }
+        if (playKey == null || playKey.trim().isEmpty()) {
+            throw new IllegalArgumentException("playKey 不能为空");
+        }
+        onPlayKey(playKey);
+
+        // 1. 先查缓存，记录未命中的位置
+        List<String> result = new ArrayList<>(videoIds.size());
+        List<Integer> missIndexes = new ArrayList<>();
+        List<String> missVideoIds = new ArrayList<>();
+        for (String videoId : videoIds) {
+            String token = null;
+            if (videoId != null && !videoId.trim().isEmpty()) {
+                token = tokens.getIfPresent(new TokenKey(videoId, playKey, regionId));
+                if (token == null) {
+                    missIndexes.add(result.size());
+                    missVideoIds.add(videoId);
+                }
+            }
+            result.add(token);
+        }
+
+        // 2. 未命中的视频批量签名并写入缓存
+        if (!missVideoIds.isEmpty()) {
+            List<String> signed = JwtUtil.getPlayAuthTokens(missVideoIds, playKey, regionId, appId);
+            for (int i = 0; i < missVideoIds.size(); i++) {
+                String token = signed.get(i);
+                if (token != null) {
+                    tokens.put(new TokenKey(missVideoIds.get(i), playKey, regionId), token);
+                    result.set(missIndexes.get(i), token);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 播放密钥轮换后，旧密钥签发的 Token 不再使用，直接清空缓存释放空间
+     */
+    private void onPlayKey(String playKey) {
+        String previous = currentPlayKey;
+        if (!playKey.equals(previous)) {
+            currentPlayKey = playKey;
+            if (previous != null) {
+                tokens.invalidateAll();
+                log.info("播放密钥已变化，清空 JWTPlayAuth 本地缓存");
+            }
+        }
+    }
+
+    /**
+     * Token 缓存键
+     */
+    private static final class TokenKey {
+        private final String videoId;
+        private final String playKey;
+        private final String regionId;
+
+        TokenKey(String videoId, String playKey, String regionId) {
+            this.videoId = videoId;
+            this.playKey = playKey;
+            this.regionId = regionId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof TokenKey)) {
+                return false;
+            }
+            TokenKey that = (TokenKey) o;
+            return videoId.equals(that.videoId) && playKey.equals(that.playKey) && regionId.equals(that.regionId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(videoId, playKey, regionId);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.aliyun.appserver.service.impl;
+
+import com.aliyun.appserver.config.ExecutorConfig;
+import com.aliyun.appserver.config.VodConfig;
+import com.aliyun.appserver.service.PlayKeyService;
+import com.aliyun.appserver.service.VodSdkService;
+import com.aliyun.appserver.support.Deadline;
+import com.aliyuncs.vod.model.v20170321.GetAppPlayKeyResponse;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 播放密钥（PlayKey）服务实现类
+ *
+ * <p>
+ * 基于 Caffeine {@link LoadingCache} 实现，按应用 ID 缓存播放密钥：
+ * <ul>
+ *     <li>{@code refreshAfterWrite}：到达 {@code ttl - refreshAhead} 后，访问时继续返回当前值，
+ *     并在 VOD I/O 线程池中异步刷新</li>
+ *     <li>{@code expireAfterWrite}：刷新持续失败时，旧值最多保留到 {@code ttl + staleGrace}</li>
+ *     <li>同一应用的并发加载 / 刷新由 Caffeine 合并为一次 {@code GetAppPlayKey} 调用；
+ *     该调用由所有请求共享，不继承触发请求的截止时间</li>
+ * </ul>
+ * </p>
+ *
+ * @author: pxc
+ * @date: 2026/10/17 14:30
+ */
+@Service
+public class PlayKeyServiceImpl implements PlayKeyService {
+
+    private static final Logger log = LoggerFactory.getLogger(PlayKeyServiceImpl.class);
+
+    private final VodSdkService vodSdkService;
+
+    private final VodConfig vodConfig;
+
+    private final LoadingCache<String, String> playKeys;
+
+    private final Executor vodIoExecutor;
+
+    public PlayKeyServiceImpl(VodSdkService vodSdkService, VodConfig vodConfig, MeterRegistry meterRegistry,
+                              @Qualifier(ExecutorConfig.VOD_IO_EXECUTOR) Executor vodIoExecutor) {
+        this.vodSdkService = vodSdkService;
+        this.vodConfig = vodConfig;
+        this.vodIoExecutor = vodIoExecutor;
+
+        VodConfig.PlayKey config = vodConfig.getPlayKey();
+        long refreshAfterSeconds = Math.max(1, config.getTtlSeconds() - config.getRefreshAheadSeconds());
+        this.playKeys = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumApps())
+                .refreshAfterWrite(refreshAfterSeconds, TimeUnit.SECONDS)
+                .expireAfterWrite(config.getTtlSeconds() + config.getStaleGraceSeconds(), TimeUnit.SECONDS)
+                .executor(vodIoExecutor)
+                .recordStats()
+                .build(this::loadPlayKeyDetached);
+        CaffeineCacheMetrics.monitor(meterRegistry, playKeys, "vod.playKey");
+    }
+
+    @Override
+    public String getPlayKey() {
+        return getPlayKey(vodConfig.getPlayKey().getAppId());
+    }
+
+    @Override
+    public String getPlayKey(String appId) {
+        if (appId == null || appId.trim().isEmpty()) {
+            throw new IllegalArgumentException("appId 不能为空");
+        }
+        try {
+            return playKeys.get(appId);
+        } catch (RuntimeException e) {
+            log.warn("获取播放密钥失败 [AppId={}]: {}", appId, e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public CompletableFuture<String> getPlayKeyAsync() {
+        String appId = vodConfig.getPlayKey().getAppId();
+        String playKey = appId != null ? playKeys.getIfPresent(appId) : null;
+        if (playKey != null) {
+            return CompletableFuture.completedFuture(playKey);
+        }
+        return CompletableFuture.supplyAsync(() -> getPlayKey(appId), vodIoExecutor);
+    }
+
+    /**
+     * 在不继承请求截止时间的情况下加载播放密钥：加载 / 刷新结果由所有请求共享，不应受触发请求的预算约束
+     */
+    private String loadPlayKeyDetached(String appId) {
+        try (Deadline.Scope ignored = Deadline.attach(null)) {
+            return loadPlayKey(appId);
+        }
+    }
+
+    /**
+     * 从 VOD 加载播放密钥
+     *
+     * <p>获取失败时抛出异常而不是返回 {@code null}，以便 Caffeine 在后台刷新失败时保留旧值。</p>
+     */
+    private String loadPlayKey(String appId) {
+        GetAppPlayKeyResponse response = vodSdkService.GetAppPlayKey(appId);
+        String playKey = response != null && response.getAppPlayKey() != null
+                ? response.getAppPlayKey().getPlayKey()
+                : null;
+        if (playKey == null || playKey.trim().isEmpty()) {
+            throw new IllegalStateException("GetAppPlayKey 未返回有效的播放密钥 [AppId=" + appId + "]");
+        }
+        return playKey;
+    }
+}
@@ -2,29 +2,42 @@ package com.aliyun.appserver.service.impl;
 
 import com.aliyun.appserver.config.VodConfig;
 import com.aliyun.appserver.entity.PlayList;
+import com.aliyun.appserver.entity.PlaylistExtension;
 import com.aliyun.appserver.entity.PlaylistItemDto;
-import com.aliyun.appserver.jwt.JwtConstants;
-import com.aliyun.appserver.jwt.JwtUtil;
+import com.aliyun.appserver.entity.PlaylistSnapshot;
+import com.aliyun.appserver.entity.StreamingPlayList;
 import com.aliyun.appserver.result.CallResult;
 import com.aliyun.appserver.result.ResponseResult;
 import com.aliyun.appserver.result.ResultCode;
+import com.aliyun.appserver.service.MediaInfoService;
+import com.aliyun.appserver.service.PlayAuthService;
+import com.aliyun.appserver.service.PlayKeyService;
 import com.aliyun.appserver.service.PlayListService;
-import com.aliyun.appserver.service.VodSdkService;
+import com.aliyun.appserver.service.PlaylistExtensionService;
+import com.aliyun.appserver.service.PlaylistSnapshotService;
+import com.aliyun.appserver.service.VodSdkOffloadService;
+import com.aliyun.appserver.support.Deadline;
+import com.aliyun.appserver.support.DeadlineExceededException;
+import com.aliyun.appserver.support.EntityTag;
+import com.aliyun.appserver.support.VodThrottledException;
 import com.aliyuncs.vod.model.v20170321.*;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * 播单业务服务实现类
  * 提供播单详情查询、播单列表查询等业务功能
  * 包含视频播放凭证生成、封面图处理等增强功能
+ * 上游调用以 CompletableFuture 组合，同步接口只在最外层按请求时间预算等待结果
+ * 开启播单快照后优先读取快照，请求路径上只本地签发播放凭证
+ * 响应按内容计算 ETag，与请求的 If-None-Match 匹配时跳过播放凭证签发，由控制层返回 304
  *
  * @author: pxc
  * @date: 2025/11/18 16:03
@@ -33,33 +46,42 @@ import java.util.stream.Collectors;
 @Service
 public class PlayListServiceImpl implements PlayListService {
 
+    // 播单详情只传 pageNo 时的默认每页视频数
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
+    // 播单列表未传 pageSize 时的每页数量（与 GetPlaylists 默认值一致）
+    private static final int DEFAULT_PLAYLISTS_PAGE_SIZE = 10;
+
+    // ETag 计算方式的版本，调整参与计算的字段时递增，使客户端缓存的旧 ETag 失效
+    private static final String ETAG_VERSION = "1";
+
+    // VOD SDK 调用卸载服务（并发调用上游时使用，阻塞调用在 VOD I/O 线程池中执行，每个进行中的调用占用一个线程）
     @Autowired
-    private VodSdkService vodSdkService;
+    private VodSdkOffloadService vodSdkOffloadService;
 
+    // 播放密钥服务（本地缓存 + 后台提前刷新 + 故障兜底）
     @Autowired
-    private VodConfig vodConfig;
+    private PlayKeyService playKeyService;
 
-    // 缓存播放密钥，减少重复获取
-    private final Map<String, CachedPlayKey> playKeyCache = new ConcurrentHashMap<>();
+    // 媒资信息查询服务（并发请求的视频 / 图片查询合并为批量调用）
+    @Autowired
+    private MediaInfoService mediaInfoService;
 
-    // 播放密钥缓存类
-    private static class CachedPlayKey {
-        private final String playKey;
-        private final long expireTime;
+    // 播放凭证服务（批量本地签名，可选复用仍在有效期内的 Token）
+    @Autowired
+    private PlayAuthService playAuthService;
 
-        public CachedPlayKey(String playKey, long expireTime) {
-            this.playKey = playKey;
-            this.expireTime = expireTime;
-        }
+    // 播单扩展信息解析服务（共享解析器，按播单修改时间缓存解析结果）
+    @Autowired
+    private PlaylistExtensionService playlistExtensionService;
 
-        public boolean isExpired() {
-            return System.currentTimeMillis() > expireTime;
-        }
+    // 播单快照服务（后台同步，开启后播单接口优先读取快照）
+    @Autowired
+    private PlaylistSnapshotService playlistSnapshotService;
 
-        public String getPlayKey() {
-            return playKey;
-        }
-    }
+    // VOD 配置（播单详情流式输出、ETag 时间窗口）
+    @Autowired
+    private VodConfig vodConfig;
 
     /**
      * 获取播单详情（含视频列表和播放凭证）
@@ -77,122 +99,155 @@ public class PlayListServiceImpl implements PlayListService {
      */
     @Override
     public CallResult getPlaylistInfo(String playListId) {
-        CallResult result = new CallResult();
+        return getPlaylistInfo(playListId, null, null);
+    }
 
-        // 1. 参数处理：如果播单ID为空，获取第一个播单
-        if (playListId == null || playListId.isEmpty()) {
-            List<GetPlaylistsResponse.PlaylistDO> playlists = vodSdkService.getPlaylists(new GetPlaylistsRequest()).getPlaylists();
-            if (playlists != null && !playlists.isEmpty()) {
-                playListId = playlists.get(0).getPlaylistId();
-            } else {
-                return ResponseResult.makeErrRsp("播放列表为空");
-            }
-        }
+    @Override
+    public CallResult getPlaylistInfo(String playListId, Integer pageNo, Integer pageSize) {
+        return getPlaylistInfo(playListId, pageNo, pageSize, null);
+    }
 
-        // 确保playListId是final或实际上final的，以便在lambda表达式中使用
-        final String finalPlayListId = playListId;
+    @Override
+    public CallResult getPlaylistInfo(String playListId, Integer pageNo, Integer pageSize, String ifNoneMatch) {
+        return await(getPlaylistInfoAsync(playListId, pageNo, pageSize, ifNoneMatch), "getPlaylistInfo");
+    }
 
-        // 异步获取播单详细信息和播放密钥
-        CompletableFuture<GetPlaylistResponse> playlistFuture = CompletableFuture.supplyAsync(() -> {
-            GetPlaylistRequest getPlaylistRequest = new GetPlaylistRequest();
-            getPlaylistRequest.setPlaylistId(finalPlayListId);
-            return vodSdkService.getPlaylist(getPlaylistRequest);
-        });
+    @Override
+    public CompletableFuture<CallResult> getPlaylistInfoAsync(String playListId) {
+        return getPlaylistInfoAsync(playListId, null, null);
+    }
 
-        CompletableFuture<String> playKeyFuture = CompletableFuture.supplyAsync(() -> getPlayKey());
+    @Override
+    public CompletableFuture<CallResult> getPlaylistInfoAsync(String playListId, Integer pageNo, Integer pageSize) {
+        return getPlaylistInfoAsync(playListId, pageNo, pageSize, null);
+    }
 
-        // 等待异步操作完成
-        GetPlaylistResponse getPlaylistResponse;
-        String playKey;
-        try {
-            getPlaylistResponse = playlistFuture.get();
-            playKey = playKeyFuture.get();
-        } catch (Exception e) {
-            return ResponseResult.makeErrRsp("获取播单信息或播放密钥失败: " + e.getMessage());
+    @Override
+    public CompletableFuture<CallResult> getPlaylistInfoAsync(String playListId, Integer pageNo, Integer pageSize,
+                                                              String ifNoneMatch) {
+        // 0. 分页参数校验：只传其中一个时，另一个取默认值
+        if ((pageNo != null && pageNo < 1) || (pageSize != null && pageSize < 1)) {
+            CallResult result = ResponseResult.makeRsp(ResultCode.PARAM_IS_INVALID.code, "pageNo / pageSize 必须为正整数");
+            result.setSuccess(false);
+            return CompletableFuture.completedFuture(result);
         }
-
-        if (getPlaylistResponse == null || getPlaylistResponse.getPlaylistId() == null) {
-            return ResponseResult.makeErrRsp("播单不存在");
+        Page page = pageNo != null || pageSize != null
+                ? new Page(pageNo != null ? pageNo : 1, pageSize != null ? pageSize : DEFAULT_PAGE_SIZE)
+                : null;
+
+        // 1. 优先读取播单快照：请求路径不访问上游，只在本地签发播放凭证
+        PlaylistSnapshot.Entry entry = snapshotEntry(playListId);
+        if (entry != null) {
+            return recover(playKeyService.getPlayKeyAsync().thenApply(playKey -> CompletableFuture.completedFuture(
+                    buildPlaylistInfo(copyOf(entry.getDetail()), entry.getItems(), playKey, page, ifNoneMatch))), "获取播放密钥失败: ");
         }
 
-        // 3. 构建播单对象
-        PlayList playList = new PlayList(getPlaylistResponse);
-
-        // 4. 异步处理播单封面图：将imageId转换为实际URL
-        CompletableFuture<Void> coverImageFuture = CompletableFuture.runAsync(() -> {
-            if (playList.getPlaylistCoverUrl() != null) {
-                GetImageInfosResponse getImageInfosResponse = vodSdkService.GetImageInfos(playList.getPlaylistCoverUrl());
-                playList.setPlaylistCoverUrl(getImageInfosResponse != null && getImageInfosResponse.getImageInfo() != null
-                        ? getImageInfosResponse.getImageInfo().get(0).getURL()
-                        : null);
-            }
-        });
+        // 2. 参数处理：如果播单ID为空，获取第一个播单
+        CompletableFuture<String> playListIdFuture = playListId == null || playListId.isEmpty()
+                ? vodSdkOffloadService.getPlaylists(new GetPlaylistsRequest()).thenApply(PlayListServiceImpl::firstPlaylistId)
+                : CompletableFuture.completedFuture(playListId);
 
-        // 5. 处理视频列表：为每个视频生成播放凭证
-        if (getPlaylistResponse.getPlaylistVideos() != null && !getPlaylistResponse.getPlaylistVideos().isEmpty()) {
-            if (playKey == null || playKey.trim().isEmpty()) {
-                return ResponseResult.makeErrRsp("播放密钥不能为空");
+        return recover(playListIdFuture.thenApply(finalPlayListId -> {
+            if (finalPlayListId == null) {
+                return CompletableFuture.completedFuture(ResponseResult.makeErrRsp("播放列表为空"));
             }
+            // 3. 并发获取播单详细信息和播放密钥（播放密钥通常命中本地缓存）
+            GetPlaylistRequest getPlaylistRequest = new GetPlaylistRequest();
+            getPlaylistRequest.setPlaylistId(finalPlayListId);
+            return recover(vodSdkOffloadService.getPlaylist(getPlaylistRequest)
+                    .thenCombine(playKeyService.getPlayKeyAsync(), (response, playKey) -> buildPlaylistInfo(response, playKey, page, ifNoneMatch)),
+                    "获取播单信息或播放密钥失败: ");
+        }), "获取播放列表失败: ");
+    }
 
-            // 5.2 为每个视频生成 JWTPlayAuth（字段名：playAuth）
-            final String regionId = vodConfig.getRegion() != null && !vodConfig.getRegion().trim().isEmpty()
-                    ? vodConfig.getRegion()
-                    : JwtConstants.DEFAULT_REGION_ID;
-
-            List<PlaylistItemDto> playListVideos = getPlaylistResponse.getPlaylistVideos().parallelStream().map(playlistItemDo -> {
-                PlaylistItemDto playlistItemDto = new PlaylistItemDto(playlistItemDo);
-                // 生成播放凭证（避免 videoId 为空导致的 NPE）
-                String videoId = playlistItemDto.getVideoId();
-                if (videoId != null && !videoId.trim().isEmpty()) {
-                    String newPlayAuth = JwtUtil.getPlayAuthToken(videoId.trim(), playKey, regionId);
-                    playlistItemDto.setPlayAuth(newPlayAuth);
-                }
-                return playlistItemDto;
-            }).collect(Collectors.toList());
-
-            playList.setPlaylistVideos(playListVideos);
+    private CompletableFuture<CallResult> buildPlaylistInfo(GetPlaylistResponse getPlaylistResponse, String playKey, Page page,
+                                                            String ifNoneMatch) {
+        if (getPlaylistResponse == null || getPlaylistResponse.getPlaylistId() == null) {
+            return CompletableFuture.completedFuture(ResponseResult.makeErrRsp("播单不存在"));
         }
 
-        // 等待封面图处理完成
-        try {
-            coverImageFuture.get();
-        } catch (Exception e) {
-            // 忽略封面图处理异常，不影响主流程
+        // 4. 构建播单对象
+        PlayList playList = new PlayList(getPlaylistResponse);
+
+        // 5. 异步处理播单封面图：将imageId转换为实际URL
+        //    与其他请求的图片查询合并为批量 GetImageInfos 调用
+        CompletableFuture<Void> coverImageFuture = CompletableFuture.completedFuture(null);
+        if (playList.getPlaylistCoverUrl() != null) {
+            String coverImageId = playList.getPlaylistCoverUrl();
+            coverImageFuture = mediaInfoService.getImageInfos(Collections.singleton(coverImageId))
+                    .thenAccept(images -> playList.setPlaylistCoverUrl(images.containsKey(coverImageId)
+                            ? images.get(coverImageId).getURL()
+                            : null));
         }
 
-        // 6. 设置成功响应
-        result.setCode(ResultCode.SUCCESS.code);
-        result.setHttpCode("200");
-        result.setSuccess(true);
-        result.setMessage("success");
-        result.setData(playList);
-        return result;
+        // 6. 封面图处理完成后处理视频列表并设置响应（忽略封面图处理异常，不影响主流程）
+        return coverImageFuture.handle((v, e) -> buildPlaylistInfo(playList, getPlaylistResponse.getPlaylistVideos(), playKey, page, ifNoneMatch));
     }
 
     /**
-     * 获取播放密钥，带缓存机制
-     * @return playKey
+     * 为播单的视频生成播放凭证并设置成功响应，实时查询与快照共用
+     *
+     * @param playList       播单对象（封面图已处理），会被修改
+     * @param playlistVideos 播单包含的视频
+     * @param playKey        播放密钥
+     * @param page           分页窗口，为空时处理全部视频
+     * @param ifNoneMatch    请求头 If-None-Match，与响应的 ETag 匹配时不签发播放凭证，返回未修改结果
      */
-    private String getPlayKey() {
-        CachedPlayKey cached = playKeyCache.get(JwtConstants.DEFAULT_APP_ID);
-        if (cached != null && !cached.isExpired()) {
-            return cached.getPlayKey();
+    private CallResult buildPlaylistInfo(PlayList playList, List<GetPlaylistResponse.PlaylistItemDO> playlistVideos,
+                                         String playKey, Page page, String ifNoneMatch) {
+        // 分页时只处理当前页的视频（上游不支持分页，在本地截取），total 仍为播单视频总数
+        if (page != null) {
+            int total = playlistVideos != null ? playlistVideos.size() : 0;
+            if (playList.getTotal() == null) {
+                playList.setTotal(total);
+            }
+            playlistVideos = page.slice(playlistVideos);
+            playList.setPlaylistVideos(new ArrayList<>());
+        }
+        boolean hasVideos = playlistVideos != null && !playlistVideos.isEmpty();
+        if (hasVideos && (playKey == null || playKey.trim().isEmpty())) {
+            return ResponseResult.makeErrRsp("播放密钥不能为空");
         }
 
-        try {
-            GetAppPlayKeyResponse getAppPlayKeyResponse = vodSdkService.GetAppPlayKey(JwtConstants.DEFAULT_APP_ID);
-            String playKey = getAppPlayKeyResponse != null && getAppPlayKeyResponse.getAppPlayKey() != null
-                    ? getAppPlayKeyResponse.getAppPlayKey().getPlayKey()
-                    : null;
-
-            if (playKey != null) {
-                // 缓存10分钟
-                playKeyCache.put(JwtConstants.DEFAULT_APP_ID, new CachedPlayKey(playKey, System.currentTimeMillis() + 600000));
+        // 客户端缓存的响应仍然有效时不再签发播放凭证
+        String etag = null;
+        if (vodConfig.getEtag().isEnabled()) {
+            EntityTag tag = EntityTag.builder().add(ETAG_VERSION).add("info").add(page != null);
+            addPlaylist(tag, playList);
+            addItems(tag, playlistVideos);
+            etag = tag.add(playKey).add(tokenWindow()).build();
+            if (EntityTag.matches(ifNoneMatch, etag)) {
+                return notModified(etag);
+            }
+        }
+
+        if (hasVideos) {
+            // 流式输出：视频列表在序列化响应时按分片签名并直接写出，不预先构建完整列表
+            VodConfig.Streaming streaming = vodConfig.getStreaming();
+            if (streaming.isEnabled()) {
+                return success(new StreamingPlayList(playList, playlistVideos,
+                        videoIds -> playAuthService.getPlayAuths(videoIds, playKey), streaming.getChunkSize()), etag);
             }
-            return playKey;
-        } catch (Exception e) {
-            throw new RuntimeException("获取播放密钥失败", e);
+
+            // 为每个视频生成 JWTPlayAuth（字段名：playAuth）
+            // 本地签名为纯 CPU 计算，直接在当前线程完成，不占用公共 ForkJoinPool
+            List<PlaylistItemDto> playListVideos = playlistVideos.stream()
+                    .map(PlaylistItemDto::new)
+                    .collect(Collectors.toList());
+            // 整个播单一次性批量签名（避免 videoId 为空导致的 NPE，空 videoId 不生成凭证）
+            List<String> videoIds = playListVideos.stream()
+                    .map(item -> item.getVideoId() != null ? item.getVideoId().trim() : null)
+                    .collect(Collectors.toList());
+            List<String> playAuths = playAuthService.getPlayAuths(videoIds, playKey);
+            for (int i = 0; i < playListVideos.size(); i++) {
+                if (playAuths.get(i) != null) {
+                    playListVideos.get(i).setPlayAuth(playAuths.get(i));
+                }
+            }
+
+            playList.setPlaylistVideos(playListVideos);
         }
+        return success(playList, etag);
     }
 
     /**
@@ -211,22 +266,46 @@ public class PlayListServiceImpl implements PlayListService {
      */
     @Override
     public CallResult getPlaylistVideos(GetPlaylistsRequest request) {
-        CallResult result = new CallResult();
+        return getPlaylistVideos(request, null);
+    }
 
-        // 1. 获取播单列表
-        GetPlaylistsResponse getPlaylistsResponse = vodSdkService.getPlaylists(request);
+    @Override
+    public CallResult getPlaylistVideos(GetPlaylistsRequest request, String ifNoneMatch) {
+        return await(getPlaylistVideosAsync(request, ifNoneMatch), "getPlaylistVideos");
+    }
 
+    @Override
+    public CompletableFuture<CallResult> getPlaylistVideosAsync(GetPlaylistsRequest request) {
+        return getPlaylistVideosAsync(request, null);
+    }
+
+    @Override
+    public CompletableFuture<CallResult> getPlaylistVideosAsync(GetPlaylistsRequest request, String ifNoneMatch) {
+        // 0. 优先读取播单快照（仅默认排序）：请求路径不访问上游，只在本地签发播放凭证
+        List<PlaylistSnapshot.Entry> entries = snapshotPage(request);
+        if (entries != null) {
+            return recover(playKeyService.getPlayKeyAsync().thenApply(playKey -> CompletableFuture.completedFuture(
+                    buildPlaylistVideos(entries, playKey, ifNoneMatch))), "获取播单列表或播放密钥失败: ");
+        }
+
+        // 1. 并发获取播单列表和播放密钥（用于生成视频播放凭证）
+        return recover(vodSdkOffloadService.getPlaylists(request)
+                .thenCombine(playKeyService.getPlayKeyAsync(), (response, playKey) -> buildPlaylistVideos(response, playKey, ifNoneMatch)),
+                "获取播单列表或播放密钥失败: ");
+    }
+
+    private CompletableFuture<CallResult> buildPlaylistVideos(GetPlaylistsResponse getPlaylistsResponse, String playKey,
+                                                              String ifNoneMatch) {
         // 参数校验
         if (getPlaylistsResponse == null
                 || getPlaylistsResponse.getPlaylists() == null
                 || getPlaylistsResponse.getPlaylists().isEmpty()) {
-            return ResponseResult.makeErrRsp("播放列表为空");
+            return CompletableFuture.completedFuture(ResponseResult.makeErrRsp("播放列表为空"));
         }
 
-        // 2. 获取播放密钥（用于生成视频播放凭证）
-        String playKey = getPlayKey();
+        // 2. 校验播放密钥
         if (playKey == null || playKey.trim().isEmpty()) {
-            return ResponseResult.makeErrRsp("播放密钥不能为空");
+            return CompletableFuture.completedFuture(ResponseResult.makeErrRsp("播放密钥不能为空"));
         }
 
         Set<String> previewVideoIdSet = new HashSet<>();
@@ -234,99 +313,288 @@ public class PlayListServiceImpl implements PlayListService {
         // 3. 处理每个播单：获取第一个视频作为预览
         List<PlayList> playLists = getPlaylistsResponse.getPlaylists().stream().map(playlistDO -> {
             PlayList playList = new PlayList(playlistDO);
-            //PlaylistExtension是一个json形式字符串，解析其中字段previewVideoId，存储到previewVideoIdSet中
-            try {
-                if (playlistDO.getPlaylistExtension() != null && !playlistDO.getPlaylistExtension().trim().isEmpty()) {
-                    ObjectMapper objectMapper = new ObjectMapper();
-                    JsonNode jsonNode = objectMapper.readTree(playlistDO.getPlaylistExtension());
-                    JsonNode previewVideoIdNode = jsonNode.get("previewVideoId");
-                    if (previewVideoIdNode != null && !previewVideoIdNode.asText().trim().isEmpty()) {
-                        previewVideoIdSet.add(previewVideoIdNode.asText());
-                        previewVideoIdToPlayListId.put(playlistDO.getPlaylistId(), previewVideoIdNode.asText());
-                    }
-                }
-            } catch (Exception e) {
-                // 解析JSON异常处理
-                ResponseResult.makeErrRsp("解析PlaylistExtension失败: {}" + e);
+            // PlaylistExtension 中的 previewVideoId 为预览视频，解析结果按 (playlistId, modifyTime) 缓存
+            PlaylistExtension extension = playlistExtensionService.getExtension(playlistDO);
+            if (extension.hasPreviewVideo()) {
+                previewVideoIdSet.add(extension.getPreviewVideoId());
+                previewVideoIdToPlayListId.put(playlistDO.getPlaylistId(), extension.getPreviewVideoId());
             }
             return playList;
         }).collect(Collectors.toList());
 
-        // 异步执行封面图和视频信息的获取
-        CompletableFuture<Map<String, GetImageInfosResponse.Image>> mediaMapFuture = CompletableFuture.supplyAsync(() -> {
-            // 4. 批量处理封面图：将imageId转换为实际URL
-            Set<String> videoIdSet = playLists.stream()
-                    .map(PlayList::getPlaylistCoverUrl)
-                    .filter(id -> id != null && !id.trim().isEmpty())
-                    .collect(Collectors.toSet());
-
-            Map<String, GetImageInfosResponse.Image> mediaMap = new HashMap<>();
-            if (!videoIdSet.isEmpty()) {
-                List<String> videoIdList = new ArrayList<>(videoIdSet);
-                String ids = String.join(",", videoIdList);
-                // 批量查询图片信息
-                GetImageInfosResponse response = vodSdkService.GetImageInfos(ids);
-                if (response != null && response.getImageInfo() != null) {
-                    // 构建 imageId -> Image 映射
-                    response.getImageInfo().forEach(image -> {
-                        if (image.getImageId() != null) {
-                            mediaMap.put(image.getImageId(), image);
-                        }
-                    });
+        // 异步执行封面图和视频信息的获取（与其他请求的查询合并为批量调用）
+        // 4. 批量处理封面图：将imageId转换为实际URL
+        Set<String> coverImageIdSet = playLists.stream()
+                .map(PlayList::getPlaylistCoverUrl)
+                .filter(id -> id != null && !id.trim().isEmpty())
+                .collect(Collectors.toSet());
+        CompletableFuture<Map<String, GetImageInfosResponse.Image>> mediaMapFuture = mediaInfoService.getImageInfos(coverImageIdSet);
+        CompletableFuture<Map<String, GetVideoInfosResponse.Video>> previewVideoMapFuture = mediaInfoService.getVideoInfos(previewVideoIdSet);
+
+        return recover(mediaMapFuture.thenCombine(previewVideoMapFuture, (mediaMap, previewVideoIdToVideo) -> {
+            // 5. 为每个播单设置预览视频和封面图
+            // 5.1 构建预览视频（播放凭证在计算 ETag 后统一签发）
+            List<PlaylistItemDto> previewItems = new ArrayList<>();
+            for (PlayList playList : playLists) {
+                String previewVideoId = previewVideoIdToPlayListId.get(playList.getPlaylistId());
+                if (previewVideoId != null && previewVideoIdToVideo.containsKey(previewVideoId)) {
+                    PlaylistItemDto playlistItemDto = new PlaylistItemDto(previewVideoIdToVideo.get(previewVideoId));
+                    playlistItemDto.setPlaylistId(playList.getPlaylistId());
+                    previewItems.add(playlistItemDto);
+                    // 5.2 将预览视频设置到播单
+                    List<PlaylistItemDto> playlistItemDtos = new ArrayList<>();
+                    playlistItemDtos.add(playlistItemDto);
+                    playList.setPlaylistVideos(playlistItemDtos);
+                }
+                // 5.3 设置封面图实际URL
+                if (mediaMap.containsKey(playList.getPlaylistCoverUrl())) {
+                    playList.setPlaylistCoverUrl(mediaMap.get(playList.getPlaylistCoverUrl()).getURL());
                 }
             }
-            return mediaMap;
-        });
-
-        CompletableFuture<Map<String, GetVideoInfosResponse.Video>> previewVideoMapFuture = CompletableFuture.supplyAsync(() -> {
-            GetVideoInfosResponse getVideoInfosResponse = vodSdkService.GetVideoInfos(String.join(",", previewVideoIdSet));
-            Map<String, GetVideoInfosResponse.Video> previewVideoIdToVideo = new HashMap<>();
-            if (getVideoInfosResponse != null && getVideoInfosResponse.getVideoList() != null) {
-                getVideoInfosResponse.getVideoList().forEach(
-                        video -> previewVideoIdToVideo.put(video.getVideoId(), video)
-                );
+
+            // 6. 为整页预览视频批量生成 JWTPlayAuth（字段名：playAuth）并设置成功响应
+            return CompletableFuture.completedFuture(buildPlaylistVideos(playLists, previewItems, playKey, ifNoneMatch));
+        }), "获取封面图或视频信息失败: ");
+    }
+
+    /**
+     * 由快照生成播单列表：复制快照中的播单与预览视频，为预览视频批量生成播放凭证
+     */
+    private CallResult buildPlaylistVideos(List<PlaylistSnapshot.Entry> entries, String playKey, String ifNoneMatch) {
+        if (entries.isEmpty()) {
+            return ResponseResult.makeErrRsp("播放列表为空");
+        }
+        if (playKey == null || playKey.trim().isEmpty()) {
+            return ResponseResult.makeErrRsp("播放密钥不能为空");
+        }
+        List<PlayList> playLists = new ArrayList<>(entries.size());
+        List<PlaylistItemDto> previewItems = new ArrayList<>();
+        for (PlaylistSnapshot.Entry entry : entries) {
+            PlayList playList = copyOf(entry.getSummary());
+            if (entry.getPreview() != null) {
+                PlaylistItemDto preview = new PlaylistItemDto(entry.getPreview());
+                previewItems.add(preview);
+                List<PlaylistItemDto> playlistItemDtos = new ArrayList<>();
+                playlistItemDtos.add(preview);
+                playList.setPlaylistVideos(playlistItemDtos);
             }
-            return previewVideoIdToVideo;
-        });
+            playLists.add(playList);
+        }
+        return buildPlaylistVideos(playLists, previewItems, playKey, ifNoneMatch);
+    }
+
+    /**
+     * 为整页预览视频批量生成播放凭证并设置成功响应，实时查询与快照共用
+     *
+     * @param playLists    播单列表（封面图与预览视频已设置）
+     * @param previewItems 各播单的预览视频，会被设置播放凭证
+     * @param playKey      播放密钥
+     * @param ifNoneMatch  请求头 If-None-Match，与响应的 ETag 匹配时不签发播放凭证，返回未修改结果
+     */
+    private CallResult buildPlaylistVideos(List<PlayList> playLists, List<PlaylistItemDto> previewItems,
+                                           String playKey, String ifNoneMatch) {
+        String etag = null;
+        if (vodConfig.getEtag().isEnabled()) {
+            EntityTag tag = EntityTag.builder().add(ETAG_VERSION).add("list").add(playLists.size());
+            for (PlayList playList : playLists) {
+                addPlaylist(tag, playList);
+                addItems(tag, playList.getPlaylistVideos());
+            }
+            etag = tag.add(playKey).add(tokenWindow()).build();
+            if (EntityTag.matches(ifNoneMatch, etag)) {
+                return notModified(etag);
+            }
+        }
+
+        List<String> playAuths = playAuthService.getPlayAuths(
+                previewItems.stream().map(PlaylistItemDto::getVideoId).collect(Collectors.toList()), playKey);
+        for (int i = 0; i < previewItems.size(); i++) {
+            previewItems.get(i).setPlayAuth(playAuths.get(i));
+        }
+        return success(playLists, etag);
+    }
+
+    /**
+     * 播单信息加入 ETag（不含视频列表）
+     */
+    private static void addPlaylist(EntityTag tag, PlayList playList) {
+        tag.add(playList.getPlaylistId())
+                .add(playList.getPlaylistName())
+                .add(playList.getPlaylistDescribe())
+                .add(playList.getPlaylistStatus())
+                .add(playList.getPlaylistTags())
+                .add(playList.getPlaylistCoverUrl())
+                .add(playList.getPlaylistOrderBy())
+                .add(playList.getPlaylistExtension())
+                .add(playList.getCreateTime())
+                .add(playList.getModifyTime())
+                .add(playList.getTotal());
+    }
 
-        Map<String, GetImageInfosResponse.Image> mediaMap;
-        Map<String, GetVideoInfosResponse.Video> previewVideoIdToVideo;
+    /**
+     * 视频列表加入 ETag，不含每次签发都会变化的播放凭证
+     */
+    private static void addItems(EntityTag tag, List<? extends GetPlaylistResponse.PlaylistItemDO> items) {
+        if (items == null) {
+            tag.add(null);
+            return;
+        }
+        tag.add(items.size());
+        for (GetPlaylistResponse.PlaylistItemDO item : items) {
+            tag.add(item.getPlaylistId())
+                    .add(item.getVideoId())
+                    .add(item.getTitle())
+                    .add(item.getDescription())
+                    .add(item.getCoverUrl());
+        }
+    }
+
+    /**
+     * 当前 Token 时间窗口，窗口结束后 ETag 变化，客户端重新获取播放凭证
+     */
+    private long tokenWindow() {
+        return System.currentTimeMillis() / (Math.max(1, vodConfig.getEtag().getTokenWindowSeconds()) * 1000);
+    }
+
+    /**
+     * 播单详情的快照数据；未指定播单 ID 时取第一个播单。快照不可用时返回 {@code null}
+     */
+    private PlaylistSnapshot.Entry snapshotEntry(String playListId) {
+        PlaylistSnapshot.Entry entry;
+        if (playListId == null || playListId.isEmpty()) {
+            List<PlaylistSnapshot.Entry> first = playlistSnapshotService.getPlaylists(1, 1);
+            entry = first != null && !first.isEmpty() ? first.get(0) : null;
+        } else {
+            entry = playlistSnapshotService.getPlaylist(playListId);
+        }
+        return entry != null && entry.getDetail() != null ? entry : null;
+    }
+
+    /**
+     * 播单列表的快照数据；快照只按默认排序生成，指定排序或快照不可用时返回 {@code null}
+     */
+    private List<PlaylistSnapshot.Entry> snapshotPage(GetPlaylistsRequest request) {
+        if (request.getSortBy() != null && !request.getSortBy().trim().isEmpty()) {
+            return null;
+        }
         try {
-            mediaMap = mediaMapFuture.get();
-            previewVideoIdToVideo = previewVideoMapFuture.get();
-        } catch (Exception e) {
-            return ResponseResult.makeErrRsp("获取封面图或视频信息失败: " + e.getMessage());
+            int pageNo = request.getPageNo() != null ? Integer.parseInt(request.getPageNo().trim()) : 1;
+            int pageSize = request.getPageSize() != null ? Integer.parseInt(request.getPageSize().trim()) : DEFAULT_PLAYLISTS_PAGE_SIZE;
+            return playlistSnapshotService.getPlaylists(pageNo, pageSize);
+        } catch (NumberFormatException e) {
+            return null;
         }
+    }
 
-        // 5. 为每个播单设置预览视频和封面图
-        String regionId = vodConfig.getRegion() != null && !vodConfig.getRegion().trim().isEmpty()
-                ? vodConfig.getRegion()
-                : JwtConstants.DEFAULT_REGION_ID;
-
-        // 使用并行流提高处理效率
-        playLists.parallelStream().forEach(playList -> {
-            // 5.1 构建预览视频并生成 JWTPlayAuth（字段名：playAuth）
-            if (previewVideoIdToPlayListId.containsKey(playList.getPlaylistId()) && previewVideoIdToVideo.containsKey(previewVideoIdToPlayListId.get(playList.getPlaylistId()))) {
-                PlaylistItemDto playlistItemDto = new PlaylistItemDto(previewVideoIdToVideo.get(previewVideoIdToPlayListId.get(playList.getPlaylistId())));
-                playlistItemDto.setPlayAuth(JwtUtil.getPlayAuthToken(playlistItemDto.getVideoId(), playKey, regionId));
-                playlistItemDto.setPlaylistId(playList.getPlaylistId());
-                // 5.2 将预览视频设置到播单
-                List<PlaylistItemDto> playlistItemDtos = new ArrayList<>();
-                playlistItemDtos.add(playlistItemDto);
-                playList.setPlaylistVideos(playlistItemDtos);
+    /**
+     * 复制快照中的播单，避免修改共享数据
+     */
+    private static PlayList copyOf(PlayList source) {
+        PlayList playList = new PlayList(source);
+        playList.setTotal(source.getTotal());
+        return playList;
+    }
+
+    /**
+     * 播单详情的分页窗口
+     */
+    private static final class Page {
+        private final int pageNo;
+        private final int pageSize;
+
+        Page(int pageNo, int pageSize) {
+            this.pageNo = pageNo;
+            this.pageSize = pageSize;
+        }
+
+        /**
+         * 截取当前页，超出范围时返回空列表
+         */
+        <T> List<T> slice(List<T> items) {
+            if (items == null) {
+                return Collections.emptyList();
             }
-            // 5.3 设置封面图实际URL
-            if (mediaMap.containsKey(playList.getPlaylistCoverUrl())) {
-                playList.setPlaylistCoverUrl(mediaMap.get(playList.getPlaylistCoverUrl()).getURL());
+            long from = (long) (pageNo - 1) * pageSize;
+            if (from >= items.size()) {
+                return Collections.emptyList();
             }
-        });
+            return items.subList((int) from, (int) Math.min(items.size(), from + pageSize));
+        }
+    }
+
+    private static String firstPlaylistId(GetPlaylistsResponse response) {
+        List<GetPlaylistsResponse.PlaylistDO> playlists = response != null ? response.getPlaylists() : null;
+        return playlists != null && !playlists.isEmpty() ? playlists.get(0).getPlaylistId() : null;
+    }
 
-        // 6. 设置成功响应
+    private static CallResult success(Object data, String etag) {
+        CallResult result = new CallResult();
         result.setCode(ResultCode.SUCCESS.code);
         result.setHttpCode("200");
         result.setSuccess(true);
         result.setMessage("success");
-        result.setData(playLists);
+        result.setData(data);
+        result.setEtag(etag);
+        return result;
+    }
+
+    /**
+     * 客户端缓存的响应仍然有效：不含业务数据，由控制层返回 304
+     */
+    private static CallResult notModified(String etag) {
+        CallResult result = success(null, etag);
+        result.setHttpCode("304");
+        result.setNotModified(true);
         return result;
     }
+
+    /**
+     * 展开一个阶段的结果；该阶段失败时返回错误结果，限流 / 超时异常继续向外传递
+     */
+    private static CompletableFuture<CallResult> recover(CompletableFuture<CompletableFuture<CallResult>> stage, String message) {
+        return stage.handle((next, e) -> {
+            if (e == null) {
+                return next;
+            }
+            Throwable cause = unwrap(e);
+            if (isClientVisible(cause)) {
+                throw new CompletionException(cause);
+            }
+            return CompletableFuture.completedFuture((CallResult) ResponseResult.makeErrRsp(message + cause.getMessage()));
+        }).thenCompose(Function.identity());
+    }
+
+    /**
+     * 同步接口：按当前请求的剩余时间等待异步结果，超时或被限流时抛给全局异常处理（返回 504 / 429）
+     */
+    private static CallResult await(CompletableFuture<CallResult> future, String operation) {
+        try {
+            return Deadline.await(future, operation);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            return ResponseResult.makeErrRsp("请求被中断");
+        } catch (ExecutionException e) {
+            Throwable cause = unwrap(e);
+            if (isClientVisible(cause)) {
+                throw (RuntimeException) cause;
+            }
+            return ResponseResult.makeErrRsp(cause.getMessage());
+        }
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        Throwable cause = e;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    /**
+     * 限流 / 超时异常需要客户端感知（返回 429 / 504），不转换为普通错误结果
+     */
+    private static boolean isClientVisible(Throwable e) {
+        return e instanceof VodThrottledException || e instanceof DeadlineExceededException;
+    }
 }
@@ -0,0 +1,108 @@
+package com.aliyun.appserver.service.impl;
+
+import com.aliyun.appserver.config.VodConfig;
+import com.aliyun.appserver.entity.PlaylistExtension;
+import com.aliyun.appserver.service.PlaylistExtensionService;
+import com.aliyuncs.vod.model.v20170321.GetPlaylistsResponse;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 播单扩展信息解析服务实现类
+ *
+ * <p>
+ * 使用一个共享的 {@link ObjectReader}（线程安全）直接绑定为 {@link PlaylistExtension}，
+ * 不再为每个播单创建 {@code ObjectMapper}，也不经过 {@code JsonNode} 树。
+ * 结果按 (playlistId, modifyTime) 缓存（{@code aliyun.vod.cache.extension}），播单被修改后 modifyTime 变化，
+ * 自然使用新的缓存键；无法解析的扩展信息缓存为 {@link PlaylistExtension#EMPTY}。
+ * </p>
+ *
+ * @author: pxc
+ * @date: 2026/10/17 21:50
+ */
+@Service
+public class PlaylistExtensionServiceImpl implements PlaylistExtensionService {
+
+    private static final Logger log = LoggerFactory.getLogger(PlaylistExtensionServiceImpl.class);
+
+    private final ObjectReader reader;
+
+    private final Cache<ExtensionKey, PlaylistExtension> extensions;
+
+    public PlaylistExtensionServiceImpl(ObjectMapper objectMapper, VodConfig vodConfig, MeterRegistry meterRegistry) {
+        this.reader = objectMapper.readerFor(PlaylistExtension.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+        VodConfig.CacheSpec spec = vodConfig.getCache().getExtension();
+        this.extensions = Caffeine.newBuilder()
+                .maximumSize(spec.getMaximumSize())
+                .expireAfterWrite(spec.getTtlSeconds(), TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, extensions, "vod.playlistExtension");
+    }
+
+    @Override
+    public PlaylistExtension getExtension(GetPlaylistsResponse.PlaylistDO playlist) {
+        if (playlist == null || playlist.getPlaylistExtension() == null || playlist.getPlaylistExtension().trim().isEmpty()) {
+            return PlaylistExtension.EMPTY;
+        }
+        // 没有修改时间时无法判断扩展信息是否变化，直接解析不缓存
+        if (playlist.getPlaylistId() == null || playlist.getModifyTime() == null) {
+            return parse(playlist.getPlaylistId(), playlist.getPlaylistExtension());
+        }
+        return extensions.get(new ExtensionKey(playlist.getPlaylistId(), playlist.getModifyTime()),
+                key -> parse(key.playlistId, playlist.getPlaylistExtension()));
+    }
+
+    private PlaylistExtension parse(String playlistId, String json) {
+        try {
+            PlaylistExtension extension = reader.readValue(json);
+            return extension != null ? extension : PlaylistExtension.EMPTY;
+        } catch (Exception e) {
+            log.warn("解析 PlaylistExtension 失败 [PlaylistId={}]: {}", playlistId, e.getMessage());
+            return PlaylistExtension.EMPTY;
+        }
+    }
+
+    /**
+     * 扩展信息缓存键
+     */
+    private static final class ExtensionKey {
+        private final String playlistId;
+        private final String modifyTime;
+
+        ExtensionKey(String playlistId, String modifyTime) {
+            this.playlistId = playlistId;
+            this.modifyTime = modifyTime;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ExtensionKey)) {
+                return false;
+            }
+            ExtensionKey that = (ExtensionKey) o;
+            return playlistId.equals(that.playlistId) && modifyTime.equals(that.modifyTime);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(playlistId, modifyTime);
+        }
+    }
+}
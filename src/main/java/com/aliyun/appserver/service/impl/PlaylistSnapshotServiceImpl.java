@@ -0,0 +1,537 @@
+package com.aliyun.appserver.service.impl;
+
+import com.aliyun.appserver.config.VodConfig;
+import com.aliyun.appserver.entity.PlayList;
+import com.aliyun.appserver.entity.PlaylistExtension;
+import com.aliyun.appserver.entity.PlaylistItemDto;
+import com.aliyun.appserver.entity.PlaylistSnapshot;
+import com.aliyun.appserver.service.MediaInfoService;
+import com.aliyun.appserver.service.PlaylistExtensionService;
+import com.aliyun.appserver.service.PlaylistSnapshotService;
+import com.aliyun.appserver.service.VodSdkOffloadService;
+import com.aliyun.appserver.service.VodSdkService;
+import com.aliyun.appserver.support.PlaylistChangedEvent;
+import com.aliyuncs.vod.model.v20170321.GetImageInfosResponse;
+import com.aliyuncs.vod.model.v20170321.GetPlaylistRequest;
+import com.aliyuncs.vod.model.v20170321.GetPlaylistResponse;
+import com.aliyuncs.vod.model.v20170321.GetPlaylistsRequest;
+import com.aliyuncs.vod.model.v20170321.GetPlaylistsResponse;
+import com.aliyuncs.vod.model.v20170321.GetVideoInfosResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 播单快照服务实现类
+ *
+ * <p>
+ * 开启 {@code aliyun.vod.snapshot.enabled} 后，应用就绪时开始在独立线程中定期同步：
+ * <ol>
+ *     <li>按 GetPlaylists 默认排序分页拉取全部播单（不超过 {@code max-playlists}）</li>
+ *     <li>调用 GetPlaylist 获取每个播单的视频列表：同时进行的调用不超过 {@code sync-concurrency}，
+ *     发起速率不超过 {@code sync-qps}</li>
+ *     <li>批量解析封面图地址与预览视频（经 {@link MediaInfoService} 合并与缓存）</li>
+ *     <li>整体替换快照；播单列表、封面图或预览视频获取失败时保留上一次的快照</li>
+ * </ol>
+ * 同步经过 {@code VodSdkService} 的本地缓存、限流与熔断保护，并且按上述并发与速率进行，
+ * 不会占满实时请求所需的舱壁与限流配额；{@code sync-qps} 应明显低于限流配置中 GetPlaylist 的 QPS。
+ * </p>
+ *
+ * <p>
+ * 单个播单的 GetPlaylist 失败（被限流、舱壁已满等）不影响整个快照：该播单沿用上一次快照中的视频列表，
+ * 并标记为失效（请求回退为实时查询），下一次同步时重试。
+ * </p>
+ *
+ * <p>
+ * 收到 {@link PlaylistChangedEvent} 后，被修改的播单与播单列表立即停止使用快照（回退为实时查询），
+ * 并在 {@code resync-delay-millis} 后重新同步；同步期间又有修改时，保持失效并再同步一次。
+ * </p>
+ *
+ * <p>
+ * 配置 {@code persist-file} 后，每次同步成功都将快照以 gzip 压缩的 JSON 写入临时文件，再原子替换目标文件，
+ * 进程中途退出不会留下不完整的文件。启动时先加载该文件：在第一次同步成功前，恢复的快照在
+ * {@code restore-max-age-seconds}（默认与 {@code max-stale-seconds} 相同）内可用，新实例无需等待同步即可由快照提供服务，
+ * 随后的同步在后台完成核对。快照中的封面图与预览视频地址在开启 URL 鉴权时会过期，该时间不应超过鉴权地址的有效时长。
+ * </p>
+ *
+ * <p>指标：{@code vod.snapshot.sync{result}}（同步耗时与次数）、{@code vod.snapshot.playlists}、{@code vod.snapshot.age}（秒）。</p>
+ *
+ * @author: pxc
+ * @date: 2026/10/17 22:10
+ */
+@Service
+public class PlaylistSnapshotServiceImpl implements PlaylistSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(PlaylistSnapshotServiceImpl.class);
+
+    private final VodSdkService vodSdkService;
+
+    private final VodSdkOffloadService vodSdkOffloadService;
+
+    private final MediaInfoService mediaInfoService;
+
+    private final PlaylistExtensionService playlistExtensionService;
+
+    private final VodConfig.Snapshot config;
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 同步线程，未开启时为 {@code null}
+     */
+    private final ScheduledExecutorService scheduler;
+
+    private volatile PlaylistSnapshot snapshot;
+
+    /**
+     * 启动时从文件恢复、尚未被同步结果替换的快照
+     */
+    private volatile PlaylistSnapshot restored;
+
+    /**
+     * 快照持久化文件，未配置时为 {@code null}
+     */
+    private final Path persistFile;
+
+    private final ObjectReader reader;
+
+    private final ObjectWriter writer;
+
+    /**
+     * 已修改、等待重新同步的播单
+     */
+    private final Set<String> dirtyPlaylists = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 播单列表已修改、等待重新同步
+     */
+    private volatile boolean listDirty;
+
+    /**
+     * 修改次数，用于判断同步期间是否又有修改；与失效标记的读写由 {@link #lock} 保护
+     */
+    private long generation;
+
+    private final Object lock = new Object();
+
+    private final AtomicBoolean resyncScheduled = new AtomicBoolean();
+
+    public PlaylistSnapshotServiceImpl(VodSdkService vodSdkService, VodSdkOffloadService vodSdkOffloadService,
+                                       MediaInfoService mediaInfoService, PlaylistExtensionService playlistExtensionService,
+                                       ObjectMapper objectMapper, VodConfig vodConfig, MeterRegistry meterRegistry) {
+        this.vodSdkService = vodSdkService;
+        this.vodSdkOffloadService = vodSdkOffloadService;
+        this.mediaInfoService = mediaInfoService;
+        this.playlistExtensionService = playlistExtensionService;
+        this.config = vodConfig.getSnapshot();
+        this.meterRegistry = meterRegistry;
+        this.reader = objectMapper.readerFor(PlaylistSnapshot.class);
+        this.writer = objectMapper.writerFor(PlaylistSnapshot.class);
+        this.persistFile = config.isEnabled() && config.getPersistFile() != null && !config.getPersistFile().trim().isEmpty()
+                ? Paths.get(config.getPersistFile().trim()) : null;
+
+        if (config.isEnabled()) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "vod-snapshot-sync");
+                thread.setDaemon(true);
+                return thread;
+            });
+            Gauge.builder("vod.snapshot.playlists", this, service -> service.snapshot != null ? service.snapshot.getPlaylistIds().size() : 0)
+                    .description("播单快照包含的播单数").register(meterRegistry);
+            Gauge.builder("vod.snapshot.age", this, service -> service.snapshot != null
+                            ? (System.currentTimeMillis() - service.snapshot.getSyncedAt()) / 1000.0 : Double.NaN)
+                    .description("播单快照距上一次同步成功的时间（秒）").register(meterRegistry);
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    /**
+     * 加载上一次持久化的快照；文件不存在或无法解析时忽略，等待同步
+     */
+    @PostConstruct
+    public void restore() {
+        if (persistFile == null) {
+            return;
+        }
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(persistFile))) {
+            PlaylistSnapshot loaded = reader.readValue(in);
+            long ageSeconds = (System.currentTimeMillis() - loaded.getSyncedAt()) / 1000;
+            if (ageSeconds > restoreMaxAgeSeconds()) {
+                log.info("播单快照文件已过期，忽略: {}, 同步于 {}s 前", persistFile, ageSeconds);
+                return;
+            }
+            restored = loaded;
+            snapshot = loaded;
+            log.info("已从文件恢复播单快照: {}, 播单数: {}, 同步于 {}s 前", persistFile, loaded.getPlaylistIds().size(), ageSeconds);
+        } catch (NoSuchFileException e) {
+            log.info("播单快照文件不存在，等待首次同步: {}", persistFile);
+        } catch (Exception e) {
+            log.warn("播单快照文件无法读取，忽略: {}, {}", persistFile, e.toString());
+        }
+    }
+
+    /**
+     * 将快照写入临时文件后原子替换持久化文件；写入失败不影响内存中的快照
+     */
+    private void persist(PlaylistSnapshot next) {
+        if (persistFile == null) {
+            return;
+        }
+        Path tmp = null;
+        try {
+            Path dir = persistFile.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            tmp = Files.createTempFile(dir, persistFile.getFileName().toString(), ".tmp");
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tmp))) {
+                writer.writeValue(out, next);
+            }
+            try {
+                Files.move(tmp, persistFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, persistFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (Exception e) {
+            log.warn("播单快照写入文件失败: {}, {}", persistFile, e.toString());
+            if (tmp != null) {
+                try {
+                    Files.deleteIfExists(tmp);
+                } catch (Exception ignored) {
+                    // 临时文件清理失败不影响服务
+                }
+            }
+        }
+    }
+
+    /**
+     * 应用就绪后开始定期同步
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (scheduler != null) {
+            scheduler.scheduleWithFixedDelay(this::sync, 0, Math.max(1, config.getSyncIntervalSeconds()), TimeUnit.SECONDS);
+            log.info("播单快照已开启，同步间隔: {}s", config.getSyncIntervalSeconds());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Override
+    public PlaylistSnapshot.Entry getPlaylist(String playlistId) {
+        PlaylistSnapshot current = fresh();
+        if (current == null || playlistId == null || dirtyPlaylists.contains(playlistId)) {
+            return null;
+        }
+        return current.getPlaylists().get(playlistId);
+    }
+
+    @Override
+    public List<PlaylistSnapshot.Entry> getPlaylists(int pageNo, int pageSize) {
+        PlaylistSnapshot current = fresh();
+        if (current == null || listDirty || pageNo < 1 || pageSize < 1) {
+            return null;
+        }
+        List<String> ids = current.getPlaylistIds();
+        long from = (long) (pageNo - 1) * pageSize;
+        long to = from + pageSize;
+        if (current.isTruncated() && to > ids.size()) {
+            return null;
+        }
+        if (from >= ids.size()) {
+            return Collections.emptyList();
+        }
+        List<PlaylistSnapshot.Entry> entries = new ArrayList<>(pageSize);
+        for (String id : ids.subList((int) from, (int) Math.min(ids.size(), to))) {
+            entries.add(current.getPlaylists().get(id));
+        }
+        return entries;
+    }
+
+    /**
+     * 快照存在且未过期时返回快照；从文件恢复的快照在第一次同步成功前按 {@code restore-max-age-seconds} 判断
+     */
+    private PlaylistSnapshot fresh() {
+        PlaylistSnapshot current = snapshot;
+        long maxAgeSeconds = current != null && current == restored ? restoreMaxAgeSeconds() : config.getMaxStaleSeconds();
+        if (current == null || System.currentTimeMillis() - current.getSyncedAt() > maxAgeSeconds * 1000) {
+            return null;
+        }
+        return current;
+    }
+
+    /**
+     * 恢复的快照最长可用时间（秒），未配置时与 {@code max-stale-seconds} 相同
+     */
+    private long restoreMaxAgeSeconds() {
+        long restoreMaxAgeSeconds = config.getRestoreMaxAgeSeconds();
+        return restoreMaxAgeSeconds > 0 ? restoreMaxAgeSeconds : config.getMaxStaleSeconds();
+    }
+
+    /**
+     * 播单被修改：相关数据立即停止使用快照，稍后重新同步
+     */
+    @EventListener
+    public void onPlaylistChanged(PlaylistChangedEvent event) {
+        if (scheduler == null) {
+            return;
+        }
+        synchronized (lock) {
+            generation++;
+            dirtyPlaylists.addAll(event.getPlaylistIds());
+            listDirty = true;
+        }
+        scheduleResync();
+    }
+
+    private void scheduleResync() {
+        if (resyncScheduled.compareAndSet(false, true)) {
+            scheduler.schedule(() -> {
+                resyncScheduled.set(false);
+                sync();
+            }, config.getResyncDelayMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public boolean sync() {
+        long startGeneration;
+        synchronized (lock) {
+            startGeneration = generation;
+        }
+        long start = System.nanoTime();
+        try {
+            Set<String> failed = new LinkedHashSet<>();
+            PlaylistSnapshot next = build(failed);
+            next.setSyncedAt(System.currentTimeMillis());
+            snapshot = next;
+            restored = null;
+            boolean changedDuringSync;
+            synchronized (lock) {
+                changedDuringSync = generation != startGeneration;
+                if (!changedDuringSync) {
+                    dirtyPlaylists.clear();
+                    listDirty = false;
+                }
+                // 获取失败的播单沿用旧数据，回退为实时查询直至下一次同步成功
+                dirtyPlaylists.addAll(failed);
+            }
+            if (changedDuringSync && scheduler != null) {
+                scheduleResync();
+            }
+            record(start, "success");
+            persist(next);
+            if (failed.isEmpty()) {
+                log.debug("播单快照同步完成，播单数: {}", next.getPlaylistIds().size());
+            } else {
+                log.warn("播单快照同步完成，播单数: {}，其中 {} 个播单获取失败，沿用上一次的数据并回退为实时查询",
+                        next.getPlaylistIds().size(), failed.size());
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            record(start, "failure");
+            return false;
+        } catch (Exception e) {
+            record(start, "failure");
+            log.warn("播单快照同步失败，继续使用上一次的快照: {}", e.toString());
+            return false;
+        }
+    }
+
+    private void record(long start, String result) {
+        Timer.builder("vod.snapshot.sync")
+                .description("播单快照同步耗时")
+                .tag("result", result)
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 拉取全部播单并解析封面图与预览视频
+     *
+     * <p>播单列表、封面图或预览视频获取失败时抛出异常；单个播单的 GetPlaylist 失败时沿用上一次快照中的数据，
+     * 并将播单 ID 加入 {@code failed}。</p>
+     *
+     * @param failed 输出参数，GetPlaylist 失败的播单
+     */
+    private PlaylistSnapshot build(Set<String> failed) throws InterruptedException {
+        // 1. 分页拉取播单列表（按 ID 去重，避免同步期间新增播单导致分页错位产生重复）
+        Map<String, GetPlaylistsResponse.PlaylistDO> summaries = new LinkedHashMap<>();
+        boolean truncated = false;
+        int pageSize = Math.max(1, Math.min(100, config.getPageSize()));
+        for (int pageNo = 1; ; pageNo++) {
+            GetPlaylistsRequest request = new GetPlaylistsRequest();
+            request.setPageNo(String.valueOf(pageNo));
+            request.setPageSize(String.valueOf(pageSize));
+            GetPlaylistsResponse response = vodSdkService.getPlaylists(request);
+            if (response == null || response.getRequestId() == null) {
+                throw new IllegalStateException("GetPlaylists 调用失败 [PageNo=" + pageNo + "]");
+            }
+            List<GetPlaylistsResponse.PlaylistDO> page = response.getPlaylists() != null
+                    ? response.getPlaylists() : Collections.emptyList();
+            for (GetPlaylistsResponse.PlaylistDO playlist : page) {
+                if (playlist.getPlaylistId() != null) {
+                    summaries.putIfAbsent(playlist.getPlaylistId(), playlist);
+                }
+            }
+            if (summaries.size() >= config.getMaxPlaylists()) {
+                truncated = page.size() == pageSize;
+                break;
+            }
+            if (page.size() < pageSize) {
+                break;
+            }
+        }
+
+        // 2. 批量查询预览视频
+        Map<String, String> previewVideoIds = new LinkedHashMap<>();
+        List<String> playlistIds = new ArrayList<>();
+        for (GetPlaylistsResponse.PlaylistDO playlist : summaries.values()) {
+            if (playlistIds.size() >= config.getMaxPlaylists()) {
+                truncated = true;
+                break;
+            }
+            playlistIds.add(playlist.getPlaylistId());
+            PlaylistExtension extension = playlistExtensionService.getExtension(playlist);
+            if (extension.hasPreviewVideo()) {
+                previewVideoIds.put(playlist.getPlaylistId(), extension.getPreviewVideoId());
+            }
+        }
+        CompletableFuture<Map<String, GetVideoInfosResponse.Video>> videosFuture =
+                mediaInfoService.getVideoInfos(new HashSet<>(previewVideoIds.values()));
+
+        // 3. 按并发上限与速率获取每个播单的视频列表，避免占满实时请求所需的舱壁与限流配额
+        Map<String, CompletableFuture<GetPlaylistResponse>> details = new LinkedHashMap<>();
+        Semaphore permits = new Semaphore(Math.max(1, config.getSyncConcurrency()));
+        long intervalNanos = config.getSyncQps() > 0 ? TimeUnit.SECONDS.toNanos(1) / config.getSyncQps() : 0;
+        long nextStart = System.nanoTime();
+        for (String playlistId : playlistIds) {
+            permits.acquire();
+            long waitNanos = nextStart - System.nanoTime();
+            if (waitNanos > 0) {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            }
+            nextStart = Math.max(nextStart, System.nanoTime()) + intervalNanos;
+            GetPlaylistRequest request = new GetPlaylistRequest();
+            request.setPlaylistId(playlistId);
+            CompletableFuture<GetPlaylistResponse> detail;
+            try {
+                detail = vodSdkOffloadService.getPlaylist(request);
+            } catch (RuntimeException e) {
+                detail = new CompletableFuture<>();
+                detail.completeExceptionally(e);
+            }
+            detail.whenComplete((response, e) -> permits.release());
+            details.put(playlistId, detail);
+        }
+
+        Map<String, GetPlaylistResponse> responses = new LinkedHashMap<>();
+        Set<String> coverImageIds = new HashSet<>();
+        for (String playlistId : playlistIds) {
+            addIfPresent(coverImageIds, summaries.get(playlistId).getPlaylistCoverUrl());
+            GetPlaylistResponse detail = details.get(playlistId).handle((response, e) -> e == null ? response : null).join();
+            if (detail == null || detail.getRequestId() == null) {
+                failed.add(playlistId);
+                continue;
+            }
+            responses.put(playlistId, detail);
+            addIfPresent(coverImageIds, detail.getPlaylistCoverUrl());
+        }
+        if (!failed.isEmpty() && failed.size() == playlistIds.size()) {
+            throw new IllegalStateException("GetPlaylist 全部调用失败，播单数: " + failed.size());
+        }
+
+        // 4. 批量解析封面图
+        Map<String, GetImageInfosResponse.Image> images = mediaInfoService.getImageInfos(coverImageIds).join();
+        Map<String, GetVideoInfosResponse.Video> videos = videosFuture.join();
+
+        // 5. 生成快照：列表视图与详情视图的封面图处理方式与实时查询保持一致
+        PlaylistSnapshot previous = snapshot;
+        PlaylistSnapshot next = new PlaylistSnapshot();
+        next.setPlaylistIds(playlistIds);
+        next.setTruncated(truncated);
+        for (String playlistId : playlistIds) {
+            PlaylistSnapshot.Entry entry = new PlaylistSnapshot.Entry();
+
+            PlayList summary = new PlayList(summaries.get(playlistId));
+            if (images.containsKey(summary.getPlaylistCoverUrl())) {
+                summary.setPlaylistCoverUrl(images.get(summary.getPlaylistCoverUrl()).getURL());
+            }
+            entry.setSummary(summary);
+
+            String previewVideoId = previewVideoIds.get(playlistId);
+            if (previewVideoId != null && videos.containsKey(previewVideoId)) {
+                PlaylistItemDto preview = new PlaylistItemDto(videos.get(previewVideoId));
+                preview.setPlaylistId(playlistId);
+                entry.setPreview(preview);
+            }
+
+            GetPlaylistResponse response = responses.get(playlistId);
+            if (response == null) {
+                // GetPlaylist 失败：沿用上一次快照中的详情与视频列表（已标记为失效）
+                PlaylistSnapshot.Entry last = previous != null ? previous.getPlaylists().get(playlistId) : null;
+                if (last != null) {
+                    entry.setDetail(last.getDetail());
+                    entry.setItems(last.getItems());
+                }
+            } else if (response.getPlaylistId() != null) {
+                PlayList detail = new PlayList(response);
+                if (detail.getPlaylistCoverUrl() != null) {
+                    GetImageInfosResponse.Image image = images.get(detail.getPlaylistCoverUrl());
+                    detail.setPlaylistCoverUrl(image != null ? image.getURL() : null);
+                }
+                entry.setDetail(detail);
+                entry.setItems(response.getPlaylistVideos());
+            }
+            next.getPlaylists().put(playlistId, entry);
+        }
+        return next;
+    }
+
+    private static void addIfPresent(Set<String> ids, String id) {
+        if (id != null && !id.trim().isEmpty()) {
+            ids.add(id);
+        }
+    }
+}
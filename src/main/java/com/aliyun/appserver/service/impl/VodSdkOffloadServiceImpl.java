@@ -0,0 +1,78 @@
+package com.aliyun.appserver.service.impl;
+
+import com.aliyun.appserver.config.ExecutorConfig;
+import com.aliyun.appserver.service.VodSdkOffloadService;
+import com.aliyun.appserver.service.VodSdkService;
+import com.aliyuncs.vod.model.v20170321.*;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * VOD SDK 调用卸载服务实现类
+ *
+ * <p>
+ * 将同步接口统一调度到 VOD I/O 线程池执行：
+ * <ul>
+ *     <li>调用经过 Spring 代理，缓存、请求合并、限流、熔断、重试等保护全部生效</li>
+ *     <li>任务继承调用方的请求截止时间</li>
+ *     <li>每个进行中的上游调用占用一个线程（thread-per-call）；默认的平台线程模式下，
+ *     并发上游调用数受 {@code aliyun.vod.executor.max-pool-size} 限制。开启虚拟线程模式
+ *     （{@code aliyun.vod.executor.virtual-threads}，JDK 21+）时阻塞的 HTTP 调用只占用虚拟线程</li>
+ * </ul>
+ * </p>
+ *
+ * <p>
+ * 这不是非阻塞传输。当前使用的 aliyun-java-sdk-core 4.x 只提供阻塞的 {@code IAcsClient}；
+ * VOD 另有基于非阻塞传输的新版 SDK（{@code alibabacloud-vod20170321} 的 {@code AsyncClient}），
+ * 其请求 / 响应模型与当前 SDK 不同，且缓存、请求合并、限流与熔断目前都建立在同步调用之上，尚未接入。
+ * </p>
+ *
+ * @author: pxc
+ * @date: 2026/10/17 20:10
+ */
+@Service
+public class VodSdkOffloadServiceImpl implements VodSdkOffloadService {
+
+    private final VodSdkService vodSdkService;
+
+    private final Executor vodIoExecutor;
+
+    public VodSdkOffloadServiceImpl(VodSdkService vodSdkService,
+                                  @Qualifier(ExecutorConfig.VOD_IO_EXECUTOR) Executor vodIoExecutor) {
+        this.vodSdkService = vodSdkService;
+        this.vodIoExecutor = vodIoExecutor;
+    }
+
+    @Override
+    public CompletableFuture<GetPlaylistResponse> getPlaylist(GetPlaylistRequest request) {
+        return submit(() -> vodSdkService.getPlaylist(request));
+    }
+
+    @Override
+    public CompletableFuture<GetPlaylistsResponse> getPlaylists(GetPlaylistsRequest request) {
+        return submit(() -> vodSdkService.getPlaylists(request));
+    }
+
+    @Override
+    public CompletableFuture<GetVideoInfosResponse> getVideoInfos(String videoIds) {
+        return submit(() -> vodSdkService.GetVideoInfos(videoIds));
+    }
+
+    @Override
+    public CompletableFuture<GetImageInfosResponse> getImageInfos(String imageIds) {
+        return submit(() -> vodSdkService.GetImageInfos(imageIds));
+    }
+
+    @Override
+    public CompletableFuture<GetAppPlayKeyResponse> getAppPlayKey(String appId) {
+        return submit(() -> vodSdkService.GetAppPlayKey(appId));
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> call) {
+        return CompletableFuture.supplyAsync(call, vodIoExecutor);
+    }
+}
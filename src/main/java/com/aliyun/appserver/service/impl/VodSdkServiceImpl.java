@@ -1,16 +1,50 @@
 package com.aliyun.appserver.service.impl;
 
+import com.aliyun.appserver.config.CacheConfig;
+import com.aliyun.appserver.config.ExecutorConfig;
 import com.aliyun.appserver.config.VodConfig;
 import com.aliyun.appserver.service.VodSdkService;
+import com.aliyun.appserver.support.Deadline;
+import com.aliyun.appserver.support.DeadlineExceededException;
+import com.aliyun.appserver.support.Hedger;
+import com.aliyun.appserver.support.HttpClientInstrumentation;
+import com.aliyun.appserver.support.SingleFlight;
+import com.aliyun.appserver.support.TokenBudget;
+import com.aliyun.appserver.support.VodApiGuard;
+import com.aliyuncs.AcsRequest;
+import com.aliyuncs.AcsResponse;
 import com.aliyuncs.DefaultAcsClient;
 import com.aliyuncs.IAcsClient;
 import com.aliyuncs.exceptions.ClientException;
+import com.aliyuncs.http.HttpClientConfig;
+import com.aliyuncs.http.HttpClientType;
+import com.aliyuncs.http.clients.ApacheIdleConnectionCleaner;
 import com.aliyuncs.profile.DefaultProfile;
 import com.aliyuncs.vod.model.v20170321.*;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
+import java.net.SocketTimeoutException;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 /**
  * VOD SDK 访问服务实现类
  *
@@ -37,6 +71,32 @@ public class VodSdkServiceImpl implements VodSdkService {
 
     private final IAcsClient vodClient;
 
+    private final VodConfig vodConfig;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Executor vodIoExecutor;
+
+    /**
+     * 只读接口的请求合并器，未开启时为 {@code null}
+     */
+    private final SingleFlight singleFlight;
+
+    /**
+     * 按 Action 的熔断器与舱壁，未开启时为 {@code null}
+     */
+    private final VodApiGuard apiGuard;
+
+    /**
+     * 对冲请求执行器，未开启时为 {@code null}
+     */
+    private final Hedger hedger;
+
+    /**
+     * 开启对冲的 Action
+     */
+    private final Set<String> hedgedActions;
+
     /**
      * 构造函数：初始化 VOD SDK 客户端
      *
@@ -44,19 +104,45 @@ public class VodSdkServiceImpl implements VodSdkService {
      * <ul>
      *     <li>AccessKey ID / Secret：用于身份认证</li>
      *     <li>Region ID：VOD 服务地域标识，从配置中读取，如果为空则使用默认值 cn-shanghai</li>
+     *     <li>HTTP 传输参数（{@code aliyun.vod.http.*}）：连接池大小、超时、空闲回收等</li>
      * </ul>
      *
-     * @param vodConfig VOD 配置对象，包含 ak、sk、region 等配置信息
+     * @param vodConfig     VOD 配置对象，包含 ak、sk、region 等配置信息
+     * @param meterRegistry 指标注册中心，用于暴露连接池与接口耗时指标
+     * @param vodIoExecutor VOD I/O 线程池，用于启动预热时并发建连
      * @throws IllegalStateException 如果客户端初始化失败
      */
-    public VodSdkServiceImpl(VodConfig vodConfig) {
+    public VodSdkServiceImpl(VodConfig vodConfig, MeterRegistry meterRegistry,
+                             @Qualifier(ExecutorConfig.VOD_IO_EXECUTOR) Executor vodIoExecutor) {
+        this.vodConfig = vodConfig;
+        this.meterRegistry = meterRegistry;
+        this.vodIoExecutor = vodIoExecutor;
+        if (vodConfig.getSingleFlight().isEnabled()) {
+            this.singleFlight = new SingleFlight(this::onCollapsed);
+            Gauge.builder("vod.sdk.singleflight.inflight", singleFlight, SingleFlight::getInFlightCount)
+                    .description("进行中的可合并 OpenAPI 调用数").register(meterRegistry);
+        } else {
+            this.singleFlight = null;
+        }
+        this.apiGuard = vodConfig.getResilience().isEnabled()
+                ? new VodApiGuard(vodConfig.getResilience(), meterRegistry)
+                : null;
+        VodConfig.Hedge hedge = vodConfig.getResilience().getHedge();
+        this.hedger = hedge.isEnabled()
+                ? new Hedger(hedge.getPercentile(), hedge.getMinDelayMillis(), hedge.getDefaultDelayMillis(),
+                hedge.getMaxConcurrentCalls(), new TokenBudget(hedge.getBudgetRatio(), hedge.getBudgetMaxTokens()),
+                meterRegistry)
+                : null;
+        this.hedgedActions = new HashSet<>(hedge.getActions());
         try {
             // 从配置中读取 regionId，如果配置为空则使用默认值
             String regionId = vodConfig.getRegion() != null && !vodConfig.getRegion().trim().isEmpty()
                     ? vodConfig.getRegion()
                     : "cn-shanghai"; // 默认值，与 JwtConstants.DEFAULT_REGION_ID 保持一致
             DefaultProfile profile = DefaultProfile.getProfile(regionId, vodConfig.getAk(), vodConfig.getSk());
+            profile.setHttpClientConfig(buildHttpClientConfig(vodConfig.getHttp(), meterRegistry));
             this.vodClient = new DefaultAcsClient(profile);
+            HttpClientInstrumentation.bindPoolMetrics(vodClient, meterRegistry);
             log.info("VOD 客户端初始化成功，Region: {}", regionId);
         } catch (Exception e) {
             log.error("VOD 客户端初始化失败", e);
@@ -64,6 +150,202 @@ public class VodSdkServiceImpl implements VodSdkService {
         }
     }
 
+    /**
+     * 根据 {@code aliyun.vod.http.*} 构建 SDK 的 HTTP 传输配置
+     *
+     * <p>注意：SDK 的 Apache HttpClient 实现使用 {@code writeTimeout} 作为从连接池获取连接的超时时间。</p>
+     */
+    private static HttpClientConfig buildHttpClientConfig(VodConfig.Http http, MeterRegistry meterRegistry) {
+        HttpClientConfig config = HttpClientConfig.getDefault();
+        config.setClientType(HttpClientType.ApacheHttpClient);
+        config.setMaxRequestsPerHost(http.getMaxConnectionsPerRoute());
+        config.setMaxRequests(Math.max(http.getMaxConnections(), http.getMaxConnectionsPerRoute()));
+        config.setConnectionTimeoutMillis(http.getConnectTimeoutMillis());
+        config.setReadTimeoutMillis(http.getReadTimeoutMillis());
+        config.setWriteTimeoutMillis(http.getPoolTimeoutMillis());
+        config.setMaxIdleTimeMillis(http.getMaxIdleTimeMillis());
+        config.setKeepAliveDurationMillis(http.getKeepAliveMillis());
+        config.setExtParam("apache.httpclient.builder", HttpClientInstrumentation.instrumentedBuilder(meterRegistry));
+        // 空闲连接回收线程的检查周期，不超过空闲回收时间
+        ApacheIdleConnectionCleaner.setPeriodSec((int) Math.max(1, Math.min(60, http.getMaxIdleTimeMillis() / 1000)));
+        return config;
+    }
+
+    /**
+     * 连接预热：应用就绪后并发发起若干轻量请求，提前建立连接并完成 TLS 握手，
+     * 避免扩容 / 发布后的首批真实请求承担建连开销。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpConnections() {
+        int connections = vodConfig.getHttp().getWarmupConnections();
+        if (connections <= 0 || vodConfig.getAk() == null || vodConfig.getAk().trim().isEmpty()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[connections];
+        for (int i = 0; i < connections; i++) {
+            futures[i] = CompletableFuture.runAsync(() -> {
+                GetPlaylistsRequest request = new GetPlaylistsRequest();
+                request.setPageNo("1");
+                request.setPageSize("1");
+                try {
+                    vodClient.getAcsResponse(request);
+                } catch (ClientException e) {
+                    // 预热只关心连接是否建立，业务错误可忽略
+                    log.debug("VOD 连接预热请求失败: {}", e.getErrMsg());
+                }
+            }, vodIoExecutor);
+        }
+        CompletableFuture.allOf(futures).whenComplete((v, e) ->
+                log.info("VOD 连接预热完成，连接数: {}，耗时: {}ms", connections, System.currentTimeMillis() - start));
+    }
+
+    /**
+     * 统一的 OpenAPI 调用入口
+     *
+     * <p>所有接口均通过此方法访问 VOD。只读接口（{@code Get*}）在开启请求合并时，
+     * 相同 Action 与参数的并发调用只会向上游发起一次；开启容错时，按 Action 经过熔断器与舱壁，
+     * 指定的只读接口还可开启对冲请求。</p>
+     */
+    private <T extends AcsResponse> T getAcsResponse(AcsRequest<T> request) throws ClientException {
+        boolean readOnly = isReadOnly(request);
+        String key = readOnly ? requestKey(request) : null;
+        if (singleFlight != null && readOnly) {
+            return singleFlight.execute(key, () -> hedged(request, key));
+        }
+        return hedged(request, key);
+    }
+
+    /**
+     * 开启对冲的只读接口：超过对冲延迟未返回时，使用请求副本再发起一次调用，先返回者为准
+     */
+    private <T extends AcsResponse> T hedged(AcsRequest<T> request, String key) throws ClientException {
+        if (hedger == null || key == null || !hedgedActions.contains(request.getSysActionName())) {
+            return guarded(request, key);
+        }
+        AtomicBoolean firstTaken = new AtomicBoolean();
+        return hedger.execute(request.getSysActionName(), () -> {
+            // 首次调用使用原始请求；SDK 签名时会修改请求对象，对冲调用必须使用副本
+            AcsRequest<T> attempt = firstTaken.compareAndSet(false, true) ? request : copyOf(request);
+            return attempt != null ? () -> guarded(attempt, key) : null;
+        });
+    }
+
+    /**
+     * 复制只读请求（仅复制 Query 参数与超时设置），无法复制时返回 {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    private static <T extends AcsResponse> AcsRequest<T> copyOf(AcsRequest<T> request) {
+        try {
+            AcsRequest<T> copy = request.getClass().getDeclaredConstructor().newInstance();
+            request.getSysQueryParameters().forEach((name, value) -> copy.putQueryParameter(name, value));
+            copy.setSysReadTimeout(request.getSysReadTimeout());
+            copy.setSysConnectTimeout(request.getSysConnectTimeout());
+            return copy;
+        } catch (ReflectiveOperationException e) {
+            log.warn("无法复制请求 {}，跳过对冲: {}", request.getSysActionName(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 在熔断器与舱壁保护下调用；{@code key} 不为空时（只读接口）允许降级返回最近一次成功结果
+     */
+    private <T extends AcsResponse> T guarded(AcsRequest<T> request, String key) throws ClientException {
+        if (apiGuard == null) {
+            return invoke(request);
+        }
+        return apiGuard.execute(request.getSysActionName(), key, () -> invoke(request));
+    }
+
+    /**
+     * 实际发起 OpenAPI 调用，按 Action 维度记录调用耗时指标 {@code vod.sdk.requests}
+     *
+     * <p>当前线程存在请求截止时间时，本次调用的连接 / 读超时不超过剩余时间；
+     * 已到期时不再发起调用，调用因到期失败时抛出 {@link DeadlineExceededException}。
+     * 超时时间被剩余时间截短后发生的超时同样视为到期，不作为上游故障计入熔断器。</p>
+     */
+    private <T extends AcsResponse> T invoke(AcsRequest<T> request) throws ClientException {
+        String action = request.getSysActionName();
+        Deadline deadline = Deadline.current();
+        boolean capped = false;
+        if (deadline != null) {
+            long remaining = deadline.remainingMillis();
+            if (remaining <= 0) {
+                throw new DeadlineExceededException(action, deadline.getTimeoutMillis());
+            }
+            int readTimeout = timeoutOf(request.getSysReadTimeout(), vodConfig.getHttp().getReadTimeoutMillis());
+            int connectTimeout = timeoutOf(request.getSysConnectTimeout(), vodConfig.getHttp().getConnectTimeoutMillis());
+            capped = remaining < readTimeout || remaining < connectTimeout;
+            request.setSysReadTimeout((int) Math.max(1, Math.min(readTimeout, remaining)));
+            request.setSysConnectTimeout((int) Math.max(1, Math.min(connectTimeout, remaining)));
+        }
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            T response = vodClient.getAcsResponse(request);
+            outcome = "success";
+            return response;
+        } catch (ClientException e) {
+            if (deadline != null && (deadline.isExpired() || (capped && isTimeout(e)))) {
+                outcome = "deadline_exceeded";
+                throw new DeadlineExceededException(action, deadline.getTimeoutMillis());
+            }
+            throw e;
+        } finally {
+            Timer.builder("vod.sdk.requests")
+                    .description("VOD OpenAPI 调用耗时")
+                    .tag("action", action)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 请求自身的超时时间，未设置时取全局配置
+     */
+    private static int timeoutOf(Integer requestTimeout, long configuredTimeout) {
+        return (int) (requestTimeout != null ? requestTimeout : configuredTimeout);
+    }
+
+    /**
+     * 是否为连接 / 读超时（读超时为 {@code SDK.ReadTimeout}，连接超时包装为 {@code SDK.ServerUnreachable}）
+     */
+    private static boolean isTimeout(ClientException e) {
+        if ("SDK.ReadTimeout".equals(e.getErrCode())) {
+            return true;
+        }
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof SocketTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isReadOnly(AcsRequest<?> request) {
+        String action = request.getSysActionName();
+        return action != null && action.startsWith("Get");
+    }
+
+    /**
+     * 请求合并的 key：Action + 按名称排序的请求参数，如 {@code GetPlaylist?{Action=GetPlaylist, PlaylistId=xxx, ...}}
+     */
+    private static String requestKey(AcsRequest<?> request) {
+        Map<String, String> params = new TreeMap<>(request.getSysQueryParameters());
+        params.putAll(request.getSysBodyParameters());
+        return request.getSysActionName() + "?" + params;
+    }
+
+    private void onCollapsed(String key) {
+        Counter.builder("vod.sdk.singleflight.collapsed")
+                .description("与进行中的相同调用合并、未实际访问上游的 OpenAPI 调用数")
+                .tag("action", key.substring(0, key.indexOf('?')))
+                .register(meterRegistry)
+                .increment();
+    }
+
     @Override
     public CreateEntityResponse createEntity(String entityName, String attributeIds, String syncAttributeIds) {
         CreateEntityRequest request = new CreateEntityRequest();
@@ -73,7 +355,7 @@ public class VodSdkServiceImpl implements VodSdkService {
         CreateEntityResponse response = new CreateEntityResponse();
 
         try {
-            response = vodClient.getAcsResponse(request);
+            response = getAcsResponse(request);
             return response;
         } catch (ClientException e) {
             log.error("调用 CreateEntity 失败: Code={}, Message={}", e.getErrCode(), e.getErrMsg());
@@ -89,7 +371,7 @@ public class VodSdkServiceImpl implements VodSdkService {
         DeleteEntityResponse response = new DeleteEntityResponse();
 
         try {
-            response = vodClient.getAcsResponse(request);
+            response = getAcsResponse(request);
             return response;
         } catch (ClientException e) {
             log.error("调用 DeleteEntity 失败 [EntityId={}]: {}", entityId, e.getErrMsg());
@@ -108,7 +390,7 @@ public class VodSdkServiceImpl implements VodSdkService {
         UpdateEntityResponse response = new UpdateEntityResponse();
 
         try {
-            response = vodClient.getAcsResponse(request);
+            response = getAcsResponse(request);
             return response;
         } catch (ClientException e) {
             log.error("调用 UpdateEntity 失败 [EntityId={}]: {}", entityId, e.getErrMsg());
@@ -123,7 +405,7 @@ public class VodSdkServiceImpl implements VodSdkService {
         GetEntityResponse response = new GetEntityResponse();
 
         try {
-            response = vodClient.getAcsResponse(request);
+            response = getAcsResponse(request);
             return response;
         } catch (ClientException e) {
             log.error("调用 GetEntity 失败 [EntityId={}]: {}", entityId, e.getErrMsg());
@@ -141,7 +423,7 @@ public class VodSdkServiceImpl implements VodSdkService {
         CreateEntityAttributeResponse response = new CreateEntityAttributeResponse();
 
         try {
-            response = vodClient.getAcsResponse(request);
+            response = getAcsResponse(request);
             return response;
         } catch (ClientException e) {
             log.error("调用 CreateEntityAttribute 失败: Code={}, Message={}", e.getErrCode(), e.getErrMsg());
@@ -157,7 +439,7 @@ public class VodSdkServiceImpl implements VodSdkService {
         DeleteEntityAttributeResponse response = new DeleteEntityAttributeResponse();
 
         try {
-            response = vodClient.getAcsResponse(request);
+            response = getAcsResponse(request);
             return response;
         } catch (ClientException e) {
             log.error("调用 DeleteEntityAttribute 失败 [AttributeId={}]: {}", attributeId, e.getErrMsg());
@@ -173,7 +455,7 @@ public class VodSdkServiceImpl implements VodSdkService {
         GetEntityAttributeResponse response = new GetEntityAttributeResponse();
 
         try {
-            response = vodClient.getAcsResponse(request);
+            response = getAcsResponse(request);
             return response;
         } catch (ClientException e) {
             log.error("调用 GetEntityAttribute 失败 [AttributeId={}]: {}", attributeId, e.getErrMsg());
@@ -190,7 +472,7 @@ public class VodSdkServiceImpl implements VodSdkService {
         RegisterEntityMediaResponse response = new RegisterEntityMediaResponse();
 
         try {
-            response = vodClient.getAcsResponse(request);
+            response = getAcsResponse(request);
             return response;
         } catch (ClientException e) {
             log.error("调用 RegisterEntityMedia 失败: Code={}, Message={}", e.getErrCode(), e.getErrMsg());
@@ -211,7 +493,7 @@ public class VodSdkServiceImpl implements VodSdkService {
         DeleteEntityMediasResponse response = new DeleteEntityMediasResponse();
 
         try {
-            response = vodClient.getAcsResponse(request);
+            response = getAcsResponse(request);
             return response;
         } catch (ClientException e) {
             log.error("调用 DeleteEntityMedias 失败: Code={}, Message={}", e.getErrCode(), e.getErrMsg());
@@ -229,7 +511,7 @@ public class VodSdkServiceImpl implements VodSdkService {
         UpdateEntityMediaResponse response = new UpdateEntityMediaResponse();
 
         try {
-            response = vodClient.getAcsResponse(request);
+            response = getAcsResponse(request);
             return response;
         } catch (ClientException e) {
             log.error("调用 UpdateEntityMedia 失败 [EntityMediaId={}]: {}", entityMediaId, e.getErrMsg());
@@ -251,7 +533,7 @@ public class VodSdkServiceImpl implements VodSdkService {
         GetEntityMediaResponse response = new GetEntityMediaResponse();
 
         try {
-            response = vodClient.getAcsResponse(request);
+            response = getAcsResponse(request);
             return response;
         } catch (ClientException e) {
             log.error("调用 GetEntityMedia 失败 [EntityMediaId={}]: {}", entityMediaId, e.getErrMsg());
@@ -270,7 +552,7 @@ public class VodSdkServiceImpl implements VodSdkService {
         GetEntityAttributeListResponse response = new GetEntityAttributeListResponse();
 
         try {
-            response = vodClient.getAcsResponse(request);
+            response = getAcsResponse(request);
             return response;
         } catch (ClientException e) {
             log.error("调用 GetEntityAttributeList 失败: Code={}, Message={}", e.getErrCode(), e.getErrMsg());
@@ -293,7 +575,7 @@ public class VodSdkServiceImpl implements VodSdkService {
         GetEntityMediaListResponse response = new GetEntityMediaListResponse();
 
         try {
-            response = vodClient.getAcsResponse(request);
+            response = getAcsResponse(request);
             return response;
         } catch (ClientException e) {
             log.error("调用 GetEntityMediaList 失败 [EntityId={}]: {}", entityId, e.getErrMsg());
@@ -311,7 +593,7 @@ public class VodSdkServiceImpl implements VodSdkService {
         GetEntityListResponse response = new GetEntityListResponse();
 
         try {
-            response = vodClient.getAcsResponse(request);
+            response = getAcsResponse(request);
             return response;
         } catch (ClientException e) {
             log.error("调用 GetEntityListResponse 失败: Code={}, Message={}", e.getErrCode(), e.getErrMsg());
@@ -325,7 +607,7 @@ public class VodSdkServiceImpl implements VodSdkService {
         request.setAppId(appId);
         GetAppPlayKeyResponse response = new GetAppPlayKeyResponse();
         try {
-            response = vodClient.getAcsResponse(request);
+            response = getAcsResponse(request);
             return response;
         } catch (ClientException e) {
             log.error("调用 GetAppPlayKey 失败 [AppId={}]: {}", appId, e.getErrMsg());
@@ -340,7 +622,7 @@ public class VodSdkServiceImpl implements VodSdkService {
         request.setPlayKey(playKey);
         SetAppPlayKeyResponse response = new SetAppPlayKeyResponse();
         try {
-            response = vodClient.getAcsResponse(request);
+            response = getAcsResponse(request);
             return response;
         } catch (ClientException e) {
             log.error("调用 SetAppPlayKey 失败 [AppId={}]: {}", appId, e.getErrMsg());
@@ -354,7 +636,7 @@ public class VodSdkServiceImpl implements VodSdkService {
         request.setVideoId(videoId);
         GetPlayInfoResponse response = new GetPlayInfoResponse();
         try {
-            response = vodClient.getAcsResponse(request);
+            response = getAcsResponse(request);
             return response;
         } catch (ClientException e) {
             log.error("调用 GetPlayInfo 失败 [VideoId={}]: {}", videoId, e.getErrMsg());
@@ -368,7 +650,7 @@ public class VodSdkServiceImpl implements VodSdkService {
         request.setVideoIds(videoIds);
         GetVideoInfosResponse response = new GetVideoInfosResponse();
         try {
-            response = vodClient.getAcsResponse(request);
+            response = getAcsResponse(request);
             return response;
         } catch (ClientException e) {
             log.error("调用 GetVideoInfos 失败 [VideoIds={}]: {}", videoIds, e.getErrMsg());
@@ -383,7 +665,7 @@ public class VodSdkServiceImpl implements VodSdkService {
         request.setTemplateGroupId(templateGroupId);
         SubmitTranscodeJobsResponse response = new SubmitTranscodeJobsResponse();
         try {
-            response = vodClient.getAcsResponse(request);
+            response = getAcsResponse(request);
             return response;
         } catch (ClientException e) {
             log.error("调用 SubmitTranscodeJobs 失败 [VideoId={}]: {}", videoId, e.getErrMsg());
@@ -398,7 +680,7 @@ public class VodSdkServiceImpl implements VodSdkService {
         request.setImageIds(imageIds);
         GetImageInfosResponse response = new GetImageInfosResponse();
         try {
-            response = vodClient.getAcsResponse(request);
+            response = getAcsResponse(request);
             return response;
         } catch (ClientException e) {
             log.error("调用 GetImageInfos 失败 [ImageIds={}]: {}", imageIds, e.getErrMsg());
@@ -418,12 +700,13 @@ public class VodSdkServiceImpl implements VodSdkService {
      *                - PlaylistVideos: 初始视频列表（JSON格式）
      * @return 创建播单响应，包含播单ID等信息
      */
+    @CacheEvict(cacheNames = CacheConfig.PLAYLISTS, allEntries = true)
     @Override
     public CreatePlaylistResponse CreatePlaylist(CreatePlaylistRequest request) {
         CreatePlaylistResponse response = new CreatePlaylistResponse();
         try {
             // 调用阿里云VOD API创建播单
-            response = vodClient.getAcsResponse(request);
+            response = getAcsResponse(request);
             return response;
         } catch (ClientException e) {
             log.error("调用 CreatePlaylist 失败:  Code={}, Message={}", e.getErrCode(), e.getErrMsg());
@@ -441,13 +724,17 @@ public class VodSdkServiceImpl implements VodSdkService {
      *                - ForceDelete: 是否强制删除（true:强制删除包含视频的播单）
      * @return 删除播单响应，包含删除结果信息
      */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PLAYLIST, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.PLAYLISTS, allEntries = true)
+    })
     @Override
     public DeletePlaylistsResponse deletePlaylists(DeletePlaylistsRequest request) {
         DeletePlaylistsResponse response = new DeletePlaylistsResponse();
 
         try {
             // 调用阿里云VOD API删除播单
-            response = vodClient.getAcsResponse(request);
+            response = getAcsResponse(request);
             return response;
         } catch (ClientException e) {
             log.error("调用 DeletePlaylists 失败: Code={}, Message={}", e.getErrCode(), e.getErrMsg());
@@ -458,6 +745,7 @@ public class VodSdkServiceImpl implements VodSdkService {
     /**
      * 查询单个播单详情
      * 获取指定播单的完整信息，包括播单基本信息和包含的视频列表
+     * 成功结果按播单 ID 缓存（{@link CacheConfig#PLAYLIST}），播单写接口调用后自动失效
      *
      * @param request 查询播单请求对象
      *                - PlaylistId: 播单ID（必填）
@@ -466,13 +754,15 @@ public class VodSdkServiceImpl implements VodSdkService {
      * - 包含的视频列表及顺序
      * - 创建和修改时间
      */
+    @Cacheable(cacheNames = CacheConfig.PLAYLIST, key = "#request.playlistId",
+            condition = "#request.playlistId != null", unless = "#result == null || #result.requestId == null")
     @Override
     public GetPlaylistResponse getPlaylist(GetPlaylistRequest request) {
         GetPlaylistResponse response = new GetPlaylistResponse();
 
         try {
             // 调用阿里云VOD API获取播单详情
-            response = vodClient.getAcsResponse(request);
+            response = getAcsResponse(request);
             return response;
         } catch (ClientException e) {
             log.error("调用 GetPlaylist 失败 [PlaylistId={}]: {}", request.getPlaylistId(), e.getErrMsg());
@@ -483,6 +773,7 @@ public class VodSdkServiceImpl implements VodSdkService {
     /**
      * 查询播单列表（分页）
      * 获取当前账号下的所有播单列表，支持分页和排序
+     * 成功结果按分页与排序参数缓存（{@link CacheConfig#PLAYLISTS}），播单写接口调用后自动失效
      *
      * @param request 查询播单列表请求对象
      *                - PageNo: 页码（默认1）
@@ -493,13 +784,15 @@ public class VodSdkServiceImpl implements VodSdkService {
      * - 总数量
      * - 分页信息
      */
+    @Cacheable(cacheNames = CacheConfig.PLAYLISTS, key = "#request.pageNo + ':' + #request.pageSize + ':' + #request.sortBy",
+            unless = "#result == null || #result.requestId == null")
     @Override
     public GetPlaylistsResponse getPlaylists(GetPlaylistsRequest request) {
         GetPlaylistsResponse response = new GetPlaylistsResponse();
 
         try {
             // 调用阿里云VOD API获取播单列表
-            response = vodClient.getAcsResponse(request);
+            response = getAcsResponse(request);
             return response;
         } catch (ClientException e) {
             log.error("调用 GetPlaylists 失败: Code={}, Message={}", e.getErrCode(), e.getErrMsg());
@@ -524,13 +817,17 @@ public class VodSdkServiceImpl implements VodSdkService {
      *                - PlaylistExtension: 扩展信息（JSON格式）
      * @return 更新播单基本信息响应
      */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PLAYLIST, key = "#request.playlistId", condition = "#request.playlistId != null"),
+            @CacheEvict(cacheNames = CacheConfig.PLAYLISTS, allEntries = true)
+    })
     @Override
     public UpdatePlaylistBasicInfoResponse updatePlaylistBasicInfo(UpdatePlaylistBasicInfoRequest request) {
         UpdatePlaylistBasicInfoResponse response = new UpdatePlaylistBasicInfoResponse();
 
         try {
             // 调用阿里云VOD API更新播单基本信息
-            response = vodClient.getAcsResponse(request);
+            response = getAcsResponse(request);
             return response;
         } catch (ClientException e) {
             log.error("调用 UpdatePlaylistBasicInfo 失败 [PlaylistId={}]: {}", request.getPlaylistId(), e.getErrMsg());
@@ -552,13 +849,17 @@ public class VodSdkServiceImpl implements VodSdkService {
      *                - CoverUrl: 封面图URL
      * @return 更新播单视频基本信息响应
      */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PLAYLIST, key = "#request.playlistId", condition = "#request.playlistId != null"),
+            @CacheEvict(cacheNames = CacheConfig.PLAYLISTS, allEntries = true)
+    })
     @Override
     public UpdatePlaylistVideoBasicInfoResponse updatePlaylistVideoBasicInfo(UpdatePlaylistVideoBasicInfoRequest request) {
         UpdatePlaylistVideoBasicInfoResponse response = new UpdatePlaylistVideoBasicInfoResponse();
 
         try {
             // 调用阿里云VOD API更新播单视频基本信息
-            response = vodClient.getAcsResponse(request);
+            response = getAcsResponse(request);
             return response;
         } catch (ClientException e) {
             log.error("调用 UpdatePlaylistVideoBasicInfo 失败 [PlaylistId={}, OriginalVideoId={}]: {}", request.getPlaylistId(), request.getOriginalVideoId(), e.getErrMsg());
@@ -580,13 +881,17 @@ public class VodSdkServiceImpl implements VodSdkService {
      *                3. 更新所有视频的排序键
      * @return 更新播单视频列表响应
      */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PLAYLIST, key = "#request.playlistId", condition = "#request.playlistId != null"),
+            @CacheEvict(cacheNames = CacheConfig.PLAYLISTS, allEntries = true)
+    })
     @Override
     public UpdatePlaylistVideosResponse updatePlaylistVideos(UpdatePlaylistVideosRequest request) {
         UpdatePlaylistVideosResponse response = new UpdatePlaylistVideosResponse();
 
         try {
             // 调用阿里云VOD API更新播单视频列表
-            response = vodClient.getAcsResponse(request);
+            response = getAcsResponse(request);
             return response;
         } catch (ClientException e) {
             log.error("调用 UpdatePlaylistVideos 失败 [PlaylistId={}]: {}", request.getPlaylistId(), e.getErrMsg());
@@ -605,13 +910,17 @@ public class VodSdkServiceImpl implements VodSdkService {
      *                格式：[{"VideoId":"xxx","Title":"xxx","Description":"xxx"},...]
      * @return 添加播单视频响应
      */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PLAYLIST, key = "#request.playlistId", condition = "#request.playlistId != null"),
+            @CacheEvict(cacheNames = CacheConfig.PLAYLISTS, allEntries = true)
+    })
     @Override
     public AddPlaylistVideosResponse addPlaylistVideos(AddPlaylistVideosRequest request) {
         AddPlaylistVideosResponse response = new AddPlaylistVideosResponse();
 
         try {
             // 调用阿里云VOD API添加播单视频
-            response = vodClient.getAcsResponse(request);
+            response = getAcsResponse(request);
             return response;
         } catch (ClientException e) {
             log.error("调用 AddPlaylistVideos 失败 [PlaylistId={}]: {}", request.getPlaylistId(), e.getErrMsg());
@@ -629,13 +938,17 @@ public class VodSdkServiceImpl implements VodSdkService {
      *                - VideoIds: 要删除的视频ID列表（逗号分隔）
      * @return 删除播单视频响应
      */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PLAYLIST, key = "#request.playlistId", condition = "#request.playlistId != null"),
+            @CacheEvict(cacheNames = CacheConfig.PLAYLISTS, allEntries = true)
+    })
     @Override
     public DeletePlaylistVideosResponse deletePlaylistVideos(DeletePlaylistVideosRequest request) {
         DeletePlaylistVideosResponse response = new DeletePlaylistVideosResponse();
 
         try {
             // 调用阿里云VOD API删除播单视频
-            response = vodClient.getAcsResponse(request);
+            response = getAcsResponse(request);
             return response;
         } catch (ClientException e) {
             log.error("调用 DeletePlaylistVideos 失败 [PlaylistId={}]: {}", request.getPlaylistId(), e.getErrMsg());
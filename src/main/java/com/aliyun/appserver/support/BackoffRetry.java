@@ -0,0 +1,132 @@
+package com.aliyun.appserver.support;
+
+import com.aliyuncs.exceptions.ClientException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+/**
+ * 带随机抖动指数退避与全局重试预算的重试器
+ *
+ * <p>
+ * 仅用于幂等的只读调用：
+ * <ul>
+ *     <li>只重试 {@code retryable} 判定为临时故障的异常（限流、服务端错误、网络超时等）</li>
+ *     <li>第 n 次重试前等待 {@code random(0, min(maxBackoff, initialBackoff * 2^(n-1)))}（full jitter），
+ *     避免大量客户端同时重试</li>
+ *     <li>每次重试从全局 {@link TokenBudget} 中消耗令牌，预算耗尽后直接返回失败</li>
+ *     <li>请求剩余时间（{@link Deadline}）不足退避时间时不再重试</li>
+ * </ul>
+ * </p>
+ *
+ * <p>指标：{@code vod.sdk.retries{action, result=retried|budget_exhausted|deadline_exceeded}}、{@code vod.sdk.retry.budget}。</p>
+ *
+ * @author: pxc
+ * @date: 2026/10/17 17:30
+ */
+public class BackoffRetry {
+
+    private static final Logger log = LoggerFactory.getLogger(BackoffRetry.class);
+
+    private final int maxAttempts;
+
+    private final long initialBackoffMillis;
+
+    private final long maxBackoffMillis;
+
+    private final Predicate<Throwable> retryable;
+
+    private final TokenBudget budget;
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * @param maxAttempts          最大尝试次数（含首次调用）
+     * @param initialBackoffMillis 首次重试的退避上限（毫秒）
+     * @param maxBackoffMillis     退避上限（毫秒）
+     * @param retryable            可重试异常判定
+     * @param budget               全局重试预算
+     * @param meterRegistry        指标注册中心
+     */
+    public BackoffRetry(int maxAttempts, long initialBackoffMillis, long maxBackoffMillis,
+                        Predicate<Throwable> retryable, TokenBudget budget, MeterRegistry meterRegistry) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffMillis = Math.max(1, initialBackoffMillis);
+        this.maxBackoffMillis = Math.max(this.initialBackoffMillis, maxBackoffMillis);
+        this.retryable = retryable;
+        this.budget = budget;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("vod.sdk.retry.budget", budget, TokenBudget::getTokens)
+                .description("剩余可用的重试令牌数").register(meterRegistry);
+    }
+
+    /**
+     * 执行调用，临时故障时按退避策略重试
+     *
+     * @param action OpenAPI Action 名称，用于日志与指标
+     * @param call   实际调用
+     * @return 调用结果
+     * @throws ClientException 最后一次调用的异常
+     */
+    public <T> T execute(String action, SingleFlight.Call<T, ClientException> call) throws ClientException {
+        budget.deposit();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return call.call();
+            } catch (ClientException e) {
+                if (attempt >= maxAttempts || !retryable.test(e)) {
+                    throw e;
+                }
+                long backoff = backoffMillis(attempt);
+                Deadline deadline = Deadline.current();
+                if (deadline != null && backoff >= deadline.remainingMillis()) {
+                    // 请求剩余时间不足以完成退避后的重试
+                    count(action, "deadline_exceeded");
+                    throw e;
+                }
+                if (!budget.tryAcquire()) {
+                    count(action, "budget_exhausted");
+                    throw e;
+                }
+                log.info("调用 {} 失败，{}ms 后进行第 {} 次重试: Code={}", action, backoff, attempt, e.getErrCode());
+                count(action, "retried");
+                if (!sleep(backoff)) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * 第 {@code attempt} 次失败后的退避时间：[0, min(maxBackoff, initialBackoff * 2^(attempt-1))]
+     */
+    private long backoffMillis(int attempt) {
+        long cap = initialBackoffMillis << Math.min(attempt - 1, 20);
+        cap = Math.min(maxBackoffMillis, cap);
+        return ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void count(String action, String result) {
+        Counter.builder("vod.sdk.retries")
+                .description("只读 OpenAPI 调用的重试次数")
+                .tag("action", action)
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+}
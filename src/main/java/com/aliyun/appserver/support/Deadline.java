@@ -0,0 +1,146 @@
+package com.aliyun.appserver.support;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 请求处理的截止时间（时间预算）
+ *
+ * <p>
+ * 由 Web 层在请求进入时设置到当前线程，之后沿调用链传递：
+ * <ul>
+ *     <li>提交到 VOD I/O 线程池的任务继承提交线程的截止时间（见 {@link DeadlinePropagatingExecutorService}）</li>
+ *     <li>等待异步结果时最多等待剩余时间，超时后取消任务（{@link #await(Future, String)}）</li>
+ *     <li>每次 OpenAPI 调用的读超时不超过剩余时间，已超时的调用不再发起</li>
+ *     <li>重试与对冲在剩余时间不足时不再进行</li>
+ * </ul>
+ * 预算耗尽时抛出 {@link DeadlineExceededException}。
+ * </p>
+ *
+ * <p>未设置截止时间的线程（后台刷新、定时任务等）不受影响，所有方法退化为原有行为。</p>
+ *
+ * @author: pxc
+ * @date: 2026/10/17 19:40
+ */
+public final class Deadline {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    /**
+     * 恢复此前截止时间的作用域，配合 try-with-resources 使用
+     */
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private final long timeoutMillis;
+
+    private final long expiresAtNanos;
+
+    private Deadline(long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+        this.expiresAtNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    }
+
+    /**
+     * 从现在起 {@code timeoutMillis} 毫秒后到期的截止时间
+     */
+    public static Deadline after(long timeoutMillis) {
+        return new Deadline(Math.max(0, timeoutMillis));
+    }
+
+    /**
+     * 当前线程的截止时间，未设置时为 {@code null}
+     */
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 将截止时间设置到当前线程（{@code null} 表示清除），关闭返回的作用域时恢复此前的值
+     */
+    public static Scope attach(Deadline deadline) {
+        Deadline previous = CURRENT.get();
+        set(deadline);
+        return () -> set(previous);
+    }
+
+    private static void set(Deadline deadline) {
+        if (deadline != null) {
+            CURRENT.set(deadline);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * 包装任务，使其在执行线程中继承提交线程当前的截止时间
+     */
+    public static Runnable propagate(Runnable task) {
+        Deadline deadline = current();
+        if (deadline == null) {
+            return task;
+        }
+        return () -> {
+            try (Scope ignored = attach(deadline)) {
+                task.run();
+            }
+        };
+    }
+
+    /**
+     * 当前线程的截止时间已到期时抛出 {@link DeadlineExceededException}
+     *
+     * @param operation 当前操作，用于异常信息
+     */
+    public static void check(String operation) {
+        Deadline deadline = current();
+        if (deadline != null && deadline.isExpired()) {
+            throw new DeadlineExceededException(operation, deadline.timeoutMillis);
+        }
+    }
+
+    /**
+     * 等待异步结果，最多等待当前线程的剩余时间；超时后取消任务并抛出 {@link DeadlineExceededException}
+     *
+     * @param future    异步结果
+     * @param operation 当前操作，用于异常信息
+     */
+    public static <T> T await(Future<T> future, String operation) throws InterruptedException, ExecutionException {
+        Deadline deadline = current();
+        if (deadline == null) {
+            return future.get();
+        }
+        try {
+            return future.get(deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new DeadlineExceededException(operation, deadline.timeoutMillis);
+        }
+    }
+
+    /**
+     * 总预算（毫秒）
+     */
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    /**
+     * 剩余时间（毫秒），到期后为 0
+     */
+    public long remainingMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(remainingNanos());
+    }
+
+    private long remainingNanos() {
+        return Math.max(0, expiresAtNanos - System.nanoTime());
+    }
+
+    public boolean isExpired() {
+        return expiresAtNanos - System.nanoTime() <= 0;
+    }
+}
@@ -0,0 +1,34 @@
+package com.aliyun.appserver.support;
+
+import lombok.Getter;
+
+/**
+ * 请求处理超出时间预算
+ *
+ * <p>
+ * 与 {@link VodThrottledException} 相同，该异常不会被 {@code VodSdkServiceImpl} 吞掉，而是直接抛到 Web 层，
+ * 由全局异常处理返回 {@code ResultCode.UPSTREAM_TIMEOUT}（HTTP 504）。
+ * </p>
+ *
+ * @author: pxc
+ * @date: 2026/10/17 19:40
+ */
+@Getter
+public class DeadlineExceededException extends RuntimeException {
+
+    /**
+     * 超时时正在进行的操作
+     */
+    private final String operation;
+
+    /**
+     * 请求的总时间预算（毫秒）
+     */
+    private final long timeoutMillis;
+
+    public DeadlineExceededException(String operation, long timeoutMillis) {
+        super("请求处理超出时间预算（" + timeoutMillis + "ms）: " + operation);
+        this.operation = operation;
+        this.timeoutMillis = timeoutMillis;
+    }
+}
@@ -0,0 +1,45 @@
+package com.aliyun.appserver.support;
+
+import com.aliyun.appserver.config.VodConfig;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 请求截止时间拦截器
+ *
+ * <p>
+ * 请求进入控制器前，按请求头（默认 {@code X-Request-Timeout-Ms}）或默认值确定时间预算并设置到当前线程，
+ * 请求结束后清除。请求头取值规则见 {@link VodConfig.RequestTimeout#resolveMillis(String)}。
+ * </p>
+ *
+ * @author: pxc
+ * @date: 2026/10/17 19:40
+ */
+public class DeadlineInterceptor implements HandlerInterceptor {
+
+    private static final String SCOPE_ATTRIBUTE = DeadlineInterceptor.class.getName() + ".SCOPE";
+
+    private final VodConfig.RequestTimeout config;
+
+    public DeadlineInterceptor(VodConfig.RequestTimeout config) {
+        this.config = config;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        long timeoutMillis = config.resolveMillis(request.getHeader(config.getHeader()));
+        request.setAttribute(SCOPE_ATTRIBUTE, Deadline.attach(Deadline.after(timeoutMillis)));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object scope = request.getAttribute(SCOPE_ATTRIBUTE);
+        if (scope instanceof Deadline.Scope) {
+            request.removeAttribute(SCOPE_ATTRIBUTE);
+            ((Deadline.Scope) scope).close();
+        }
+    }
+}
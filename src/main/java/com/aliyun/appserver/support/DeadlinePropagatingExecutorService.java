@@ -0,0 +1,53 @@
+package com.aliyun.appserver.support;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 传递请求截止时间的线程池包装
+ *
+ * <p>提交的任务在执行线程中继承提交线程的 {@link Deadline}，执行结束后恢复，不会泄漏到线程池的后续任务。</p>
+ *
+ * @author: pxc
+ * @date: 2026/10/17 19:40
+ */
+public class DeadlinePropagatingExecutorService extends AbstractExecutorService {
+
+    private final ExecutorService delegate;
+
+    public DeadlinePropagatingExecutorService(ExecutorService delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        delegate.execute(Deadline.propagate(command));
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+}
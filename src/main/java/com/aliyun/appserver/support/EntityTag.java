@@ -0,0 +1,90 @@
+package com.aliyun.appserver.support;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * 强 ETag 生成与 {@code If-None-Match} 匹配
+ *
+ * <p>
+ * 按顺序加入响应内容中的字段，计算 SHA-256 摘要并取前 128 位作为 ETag；
+ * 每个字段带长度前缀，{@code null} 与空字符串可区分，字段边界变化不会产生相同的摘要。
+ * 不依赖响应的序列化结果，在生成响应体之前即可判断客户端缓存是否仍然有效。
+ * </p>
+ *
+ * @author: pxc
+ * @date: 2026/10/17 23:40
+ */
+public final class EntityTag {
+
+    private final MessageDigest digest;
+
+    private EntityTag() {
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 开始计算一个 ETag
+     */
+    public static EntityTag builder() {
+        return new EntityTag();
+    }
+
+    /**
+     * 加入一个字段，{@code null} 与其他值可区分
+     */
+    public EntityTag add(Object value) {
+        if (value == null) {
+            digest.update((byte) 0);
+            return this;
+        }
+        byte[] bytes = value.toString().getBytes(StandardCharsets.UTF_8);
+        digest.update((byte) 1);
+        digest.update((byte) (bytes.length >>> 24));
+        digest.update((byte) (bytes.length >>> 16));
+        digest.update((byte) (bytes.length >>> 8));
+        digest.update((byte) bytes.length);
+        digest.update(bytes);
+        return this;
+    }
+
+    /**
+     * 生成带双引号的强 ETag，如 {@code "q1w2e3..."}
+     */
+    public String build() {
+        byte[] hash = Arrays.copyOf(digest.digest(), 16);
+        return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(hash) + "\"";
+    }
+
+    /**
+     * {@code If-None-Match} 是否与 ETag 匹配（弱比较，支持 {@code *} 与逗号分隔的多个 ETag）
+     *
+     * @param ifNoneMatch 请求头 {@code If-None-Match}，可为空
+     * @param etag        当前内容的 ETag
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
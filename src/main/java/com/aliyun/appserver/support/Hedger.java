@@ -0,0 +1,245 @@
+package com.aliyun.appserver.support;
+
+import com.aliyuncs.exceptions.ClientException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 对冲请求（hedged request）执行器
+ *
+ * <p>
+ * 用于降低只读接口的长尾延迟：先发起一次调用，若在"对冲延迟"内没有返回，再发起一次相同的调用，
+ * 以先成功返回的结果为准，另一次调用被取消（结果被丢弃）。
+ * <ul>
+ *     <li>对冲延迟取该 Action 最近调用耗时的指定分位数（如 p95），样本不足时使用默认值</li>
+ *     <li>对冲请求从 {@link TokenBudget} 中消耗令牌，上游额外负载不超过正常流量的一定比例</li>
+ *     <li>调用在独立的无队列线程池中执行，线程耗尽时不对冲，直接在调用方线程中执行，
+ *     避免与 VOD I/O 线程池相互等待</li>
+ * </ul>
+ * </p>
+ *
+ * <p>注意：SDK 的阻塞 HTTP 调用无法中途中止，取消只会中断等待中的线程，已发出的请求仍会完成后被丢弃。</p>
+ *
+ * <p>调用继承调用方的请求截止时间（{@link Deadline}），剩余时间不足一个对冲延迟时不再对冲。</p>
+ *
+ * <p>指标：{@code vod.sdk.hedge{action, result=sent|won|budget_exhausted|deadline_exceeded}}、{@code vod.sdk.hedge.delay{action}}。</p>
+ *
+ * @author: pxc
+ * @date: 2026/10/17 18:00
+ */
+public class Hedger {
+
+    private static final int LATENCY_WINDOW_SIZE = 512;
+
+    private static final int MIN_SAMPLES = 20;
+
+    private final double percentile;
+
+    private final long minDelayMillis;
+
+    private final long defaultDelayMillis;
+
+    private final TokenBudget budget;
+
+    private final ThreadPoolExecutor executor;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+
+    /**
+     * @param percentile         对冲延迟取最近调用耗时的分位数，如 0.95
+     * @param minDelayMillis     对冲延迟下限（毫秒）
+     * @param defaultDelayMillis 样本不足时的对冲延迟（毫秒）
+     * @param maxConcurrency     同时进行的调用（含对冲）上限
+     * @param budget             对冲预算
+     * @param meterRegistry      指标注册中心
+     */
+    public Hedger(double percentile, long minDelayMillis, long defaultDelayMillis, int maxConcurrency,
+                  TokenBudget budget, MeterRegistry meterRegistry) {
+        this.percentile = Math.min(1.0, Math.max(0.0, percentile));
+        this.minDelayMillis = Math.max(1, minDelayMillis);
+        this.defaultDelayMillis = Math.max(this.minDelayMillis, defaultDelayMillis);
+        this.budget = budget;
+        this.meterRegistry = meterRegistry;
+        AtomicInteger index = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(0, Math.max(2, maxConcurrency), 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "vod-hedge-" + index.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 执行调用，超过对冲延迟仍未返回时发起对冲调用
+     *
+     * @param action   OpenAPI Action 名称
+     * @param attempts 调用工厂，每次返回一个独立的调用；返回 {@code null} 表示无法再发起调用
+     * @return 先成功返回的结果
+     * @throws ClientException 所有调用均失败时，最后一次失败的异常
+     */
+    public <T> T execute(String action, Supplier<SingleFlight.Call<T, ClientException>> attempts) throws ClientException {
+        budget.deposit();
+        LatencyWindow window = latencies.computeIfAbsent(action, this::newWindow);
+        SingleFlight.Call<T, ClientException> first = attempts.get();
+
+        CompletableFuture<T> winner = new CompletableFuture<>();
+        AtomicInteger running = new AtomicInteger(1);
+        Future<?> primary;
+        try {
+            primary = executor.submit(Deadline.propagate(attempt(action, first, window, winner, running, false)));
+        } catch (RejectedExecutionException e) {
+            // 线程耗尽，不对冲
+            return first.call();
+        }
+
+        Future<?> hedge = null;
+        try {
+            Deadline deadline = Deadline.current();
+            try {
+                return winner.get(window.delayMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // 剩余时间不足一个对冲延迟时，对冲调用也无法按时返回
+                if (deadline == null || deadline.remainingMillis() > window.delayMillis()) {
+                    hedge = hedge(action, attempts, window, winner, running);
+                } else {
+                    count(action, "deadline_exceeded");
+                }
+            }
+            return Deadline.await(winner, action);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ClientException("SDK.Interrupted", "等待 " + action + " 调用结果时被中断");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ClientException) {
+                throw (ClientException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            primary.cancel(true);
+            if (hedge != null) {
+                hedge.cancel(true);
+            }
+        }
+    }
+
+    private <T> Future<?> hedge(String action, Supplier<SingleFlight.Call<T, ClientException>> attempts,
+                                LatencyWindow window, CompletableFuture<T> winner, AtomicInteger running) {
+        // 先准备好对冲调用，只有实际发出时才消耗令牌
+        SingleFlight.Call<T, ClientException> call = attempts.get();
+        if (call == null) {
+            return null;
+        }
+        if (!budget.tryAcquire()) {
+            count(action, "budget_exhausted");
+            return null;
+        }
+        running.incrementAndGet();
+        try {
+            Future<?> future = executor.submit(Deadline.propagate(attempt(action, call, window, winner, running, true)));
+            count(action, "sent");
+            return future;
+        } catch (RejectedExecutionException e) {
+            running.decrementAndGet();
+            budget.refund();
+            return null;
+        }
+    }
+
+    private <T> Runnable attempt(String action, SingleFlight.Call<T, ClientException> call, LatencyWindow window,
+                                 CompletableFuture<T> winner, AtomicInteger running, boolean hedged) {
+        return () -> {
+            long start = System.nanoTime();
+            try {
+                T result = call.call();
+                window.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                if (winner.complete(result) && hedged) {
+                    count(action, "won");
+                }
+            } catch (Throwable e) {
+                // 所有调用都失败时才以失败结束
+                if (running.decrementAndGet() == 0) {
+                    winner.completeExceptionally(e);
+                }
+            }
+        };
+    }
+
+    private LatencyWindow newWindow(String action) {
+        LatencyWindow window = new LatencyWindow();
+        Gauge.builder("vod.sdk.hedge.delay", window, LatencyWindow::delayMillis)
+                .description("当前对冲延迟（毫秒）")
+                .tag("action", action)
+                .register(meterRegistry);
+        return window;
+    }
+
+    private void count(String action, String result) {
+        Counter.builder("vod.sdk.hedge")
+                .description("对冲请求次数")
+                .tag("action", action)
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * 最近若干次成功调用的耗时，用于计算对冲延迟；分位数最多每秒重新计算一次
+     */
+    private final class LatencyWindow {
+        private final long[] samples = new long[LATENCY_WINDOW_SIZE];
+        private int count;
+        private int next;
+        private volatile long delayMillis = defaultDelayMillis;
+        private volatile long computedAt;
+
+        synchronized void record(long millis) {
+            samples[next] = millis;
+            next = (next + 1) % samples.length;
+            if (count < samples.length) {
+                count++;
+            }
+        }
+
+        long delayMillis() {
+            long now = System.currentTimeMillis();
+            if (now - computedAt >= 1000) {
+                computedAt = now;
+                long[] sorted;
+                synchronized (this) {
+                    if (count < MIN_SAMPLES) {
+                        return delayMillis;
+                    }
+                    sorted = Arrays.copyOf(samples, count);
+                }
+                Arrays.sort(sorted);
+                int index = (int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1);
+                delayMillis = Math.max(minDelayMillis, sorted[Math.max(0, index)]);
+            }
+            return delayMillis;
+        }
+    }
+}
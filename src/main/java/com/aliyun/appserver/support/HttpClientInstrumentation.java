@@ -0,0 +1,116 @@
+package com.aliyun.appserver.support;
+
+import com.aliyuncs.DefaultAcsClient;
+import com.aliyuncs.IAcsClient;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpException;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.HttpResponse;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.pool.ConnPoolControl;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpRequestExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * VOD SDK 底层 HTTP 连接池监控工具
+ *
+ * <p>
+ * 阿里云 Java SDK（aliyun-java-sdk-core）默认使用 Apache HttpClient 连接池，但未暴露连接池状态。
+ * 本工具类提供两类指标：
+ * <ul>
+ *     <li>{@code vod.http.connection.acquire}：从发起请求到拿到可用连接的耗时，
+ *     包含连接池排队等待与新建连接（TCP + TLS 握手）的时间</li>
+ *     <li>{@code vod.http.pool.leased / available / pending / max}：连接池使用情况</li>
+ * </ul>
+ * </p>
+ *
+ * @author: pxc
+ * @date: 2026/10/17 11:20
+ */
+public final class HttpClientInstrumentation {
+
+    private static final Logger log = LoggerFactory.getLogger(HttpClientInstrumentation.class);
+
+    private static final String ACQUIRE_START_ATTRIBUTE = "vod.connection.acquire.start";
+
+    private HttpClientInstrumentation() {
+    }
+
+    /**
+     * 创建带连接获取耗时统计的 {@link HttpClientBuilder}
+     *
+     * <p>通过 {@code HttpClientConfig#setExtParam("apache.httpclient.builder", builder)} 交给 SDK 使用，
+     * SDK 会在其基础上继续设置连接池、超时等参数。</p>
+     *
+     * @param meterRegistry 指标注册中心
+     * @return 已埋点的 {@link HttpClientBuilder}
+     */
+    public static HttpClientBuilder instrumentedBuilder(MeterRegistry meterRegistry) {
+        Timer acquireTimer = Timer.builder("vod.http.connection.acquire")
+                .description("获取 VOD HTTP 连接耗时（连接池等待 + 建连）")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+
+        return HttpClientBuilder.create()
+                // 请求拦截器在从连接池租用连接之前执行，记录起始时间
+                .addInterceptorFirst((HttpRequestInterceptor) (request, context) ->
+                        context.setAttribute(ACQUIRE_START_ATTRIBUTE, System.nanoTime()))
+                // 请求执行器在拿到（必要时新建）连接之后执行，计算获取连接耗时
+                .setRequestExecutor(new HttpRequestExecutor() {
+                    @Override
+                    public HttpResponse execute(HttpRequest request, HttpClientConnection conn, HttpContext context)
+                            throws IOException, HttpException {
+                        Object start = context.getAttribute(ACQUIRE_START_ATTRIBUTE);
+                        if (start instanceof Long) {
+                            acquireTimer.record(System.nanoTime() - (Long) start, TimeUnit.NANOSECONDS);
+                            context.removeAttribute(ACQUIRE_START_ATTRIBUTE);
+                        }
+                        return super.execute(request, conn, context);
+                    }
+                });
+    }
+
+    /**
+     * 注册 VOD 客户端连接池使用情况指标
+     *
+     * <p>SDK 未公开连接池对象，这里通过反射读取；读取失败时仅打印告警，不影响客户端使用。</p>
+     *
+     * @param client        VOD SDK 客户端
+     * @param meterRegistry 指标注册中心
+     */
+    public static void bindPoolMetrics(IAcsClient client, MeterRegistry meterRegistry) {
+        if (!(client instanceof DefaultAcsClient)) {
+            return;
+        }
+        try {
+            Object httpClient = ((DefaultAcsClient) client).getHttpClient();
+            Field field = httpClient.getClass().getDeclaredField("connectionManager");
+            field.setAccessible(true);
+            Object connectionManager = field.get(httpClient);
+            if (!(connectionManager instanceof ConnPoolControl)) {
+                return;
+            }
+            ConnPoolControl<?> pool = (ConnPoolControl<?>) connectionManager;
+            Gauge.builder("vod.http.pool.leased", pool, p -> p.getTotalStats().getLeased())
+                    .description("已租用（正在使用）的连接数").register(meterRegistry);
+            Gauge.builder("vod.http.pool.available", pool, p -> p.getTotalStats().getAvailable())
+                    .description("空闲可复用的连接数").register(meterRegistry);
+            Gauge.builder("vod.http.pool.pending", pool, p -> p.getTotalStats().getPending())
+                    .description("等待获取连接的请求数").register(meterRegistry);
+            Gauge.builder("vod.http.pool.max", pool, p -> p.getTotalStats().getMax())
+                    .description("连接池最大连接数").register(meterRegistry);
+        } catch (Exception e) {
+            log.warn("无法读取 VOD HTTP 连接池，跳过连接池指标注册: {}", e.getMessage());
+        }
+    }
+}
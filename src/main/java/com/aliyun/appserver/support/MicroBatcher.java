@@ -0,0 +1,174 @@
+package com.aliyun.appserver.support;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 按 key 批量查询的聚合器（micro-batching）
+ *
+ * <p>
+ * 在一个很短的时间窗口内收集来自不同请求的 key，合并为一次批量调用，再将结果分发给各调用方：
+ * <ul>
+ *     <li>窗口从第一个 key 加入时开始计时，到期后统一发起调用</li>
+ *     <li>积攒的 key 达到单次调用上限时立即发起调用，不再等待窗口结束</li>
+ *     <li>窗口内重复的 key 只查询一次</li>
+ *     <li>批量调用在指定的 {@link Executor} 上执行，调用方不阻塞在聚合器内部；线程池拒绝时该批次异常完成</li>
+ * </ul>
+ * </p>
+ *
+ * <p>暴露指标 {@code vod.batch.size{name}}：每次批量调用包含的 key 数。</p>
+ *
+ * @param <K> 查询 key 类型
+ * @param <V> 查询结果类型
+ * @author: pxc
+ * @date: 2026/10/17 16:30
+ */
+public class MicroBatcher<K, V> {
+
+    private final long windowMillis;
+
+    private final int maxBatchSize;
+
+    private final Function<List<K>, Map<K, V>> loader;
+
+    private final Executor executor;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final DistributionSummary batchSizes;
+
+    private final Object lock = new Object();
+
+    private Map<K, CompletableFuture<V>> pending = new LinkedHashMap<>();
+
+    private ScheduledFuture<?> scheduledFlush;
+
+    /**
+     * @param name          聚合器名称，用作指标标签
+     * @param windowMillis  聚合窗口（毫秒），小于等于 0 时不等待，立即发起调用
+     * @param maxBatchSize  单次批量调用的最大 key 数
+     * @param loader        批量查询函数，返回 key 到结果的映射，不存在的 key 可不返回
+     * @param executor      执行批量查询的线程池；拒绝时必须抛出 {@link RejectedExecutionException}，
+     *                      不能由提交线程代为执行（CallerRuns），否则批量调用会阻塞窗口计时器
+     * @param scheduler     窗口计时器
+     * @param meterRegistry 指标注册中心
+     */
+    public MicroBatcher(String name, long windowMillis, int maxBatchSize, Function<List<K>, Map<K, V>> loader,
+                        Executor executor, ScheduledExecutorService scheduler, MeterRegistry meterRegistry) {
+        this.windowMillis = windowMillis;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.loader = loader;
+        this.executor = executor;
+        this.scheduler = scheduler;
+        this.batchSizes = DistributionSummary.builder("vod.batch.size")
+                .description("单次批量查询包含的 key 数")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 批量查询
+     *
+     * @param keys 查询 key
+     * @return 存在的 key 到结果的映射；批量调用失败时异常完成
+     */
+    public CompletableFuture<Map<K, V>> loadAll(Collection<K> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptyMap());
+        }
+
+        Map<K, CompletableFuture<V>> futures = new LinkedHashMap<>();
+        List<Map<K, CompletableFuture<V>>> readyBatches = new ArrayList<>();
+        synchronized (lock) {
+            for (K key : keys) {
+                if (key == null || futures.containsKey(key)) {
+                    continue;
+                }
+                CompletableFuture<V> future = pending.get(key);
+                if (future == null) {
+                    future = new CompletableFuture<>();
+                    pending.put(key, future);
+                    if (pending.size() >= maxBatchSize) {
+                        readyBatches.add(drain());
+                    }
+                }
+                futures.put(key, future);
+            }
+            if (!pending.isEmpty()) {
+                if (windowMillis <= 0) {
+                    readyBatches.add(drain());
+                } else if (scheduledFlush == null) {
+                    scheduledFlush = scheduler.schedule(this::flush, windowMillis, TimeUnit.MILLISECONDS);
+                }
+            }
+        }
+        readyBatches.forEach(this::dispatch);
+
+        return CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0]))
+                .thenApply(v -> {
+                    Map<K, V> result = new LinkedHashMap<>();
+                    futures.forEach((key, future) -> {
+                        V value = future.join();
+                        if (value != null) {
+                            result.put(key, value);
+                        }
+                    });
+                    return result;
+                });
+    }
+
+    /**
+     * 取出当前积攒的 key，调用方需持有 {@link #lock}
+     */
+    private Map<K, CompletableFuture<V>> drain() {
+        Map<K, CompletableFuture<V>> batch = pending;
+        pending = new LinkedHashMap<>();
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return batch;
+    }
+
+    private void flush() {
+        Map<K, CompletableFuture<V>> batch;
+        synchronized (lock) {
+            batch = drain();
+        }
+        if (!batch.isEmpty()) {
+            dispatch(batch);
+        }
+    }
+
+    private void dispatch(Map<K, CompletableFuture<V>> batch) {
+        batchSizes.record(batch.size());
+        List<K> keys = new ArrayList<>(batch.keySet());
+        // 批量调用由多个请求共享，不继承触发线程的请求截止时间，各调用方等待结果时自行控制超时
+        try (Deadline.Scope ignored = Deadline.attach(null)) {
+            CompletableFuture.supplyAsync(() -> loader.apply(keys), executor).whenComplete((result, error) ->
+                    batch.forEach((key, future) -> {
+                        if (error != null) {
+                            future.completeExceptionally(error);
+                        } else {
+                            future.complete(result != null ? result.get(key) : null);
+                        }
+                    }));
+        } catch (RejectedExecutionException e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.aliyun.appserver.support;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * 虚拟线程钉住（pinned）诊断
+ *
+ * <p>
+ * 虚拟线程在 {@code synchronized} 块或本地方法中执行阻塞操作时，无法从载体线程上卸载（被"钉住"），
+ * 此时阻塞调用仍会占用一个平台线程，虚拟线程带来的并发能力随之失效。
+ * 本类通过 JFR 事件流订阅 {@code jdk.VirtualThreadPinned} 事件（JDK 21+），
+ * 对超过阈值的钉住进行计数与计时，并对每个新出现的阻塞位置输出一次 WARN 日志（含调用栈）。
+ * </p>
+ *
+ * <p>项目以 Java 8 为编译目标，因此通过反射使用 JFR 事件流 API；当前 JDK 不支持时 {@link #start()} 返回 {@code false}。</p>
+ *
+ * <p>指标：{@code vod.virtual.pinned}（次数）、{@code vod.virtual.pinned.duration}（钉住时长）。</p>
+ *
+ * @author: pxc
+ * @date: 2026/10/17 21:00
+ */
+public class PinnedThreadMonitor implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(PinnedThreadMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    /**
+     * 日志中输出的调用栈深度
+     */
+    private static final int MAX_FRAMES = 12;
+
+    /**
+     * 已输出过日志的阻塞位置数上限，超过后不再输出新位置的日志（指标仍然记录）
+     */
+    private static final int MAX_REPORTED_SITES = 100;
+
+    private final long thresholdMillis;
+
+    private final MeterRegistry meterRegistry;
+
+    private Counter pinnedCount;
+
+    private Timer pinnedDuration;
+
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+
+    private Object stream;
+
+    public PinnedThreadMonitor(long thresholdMillis, MeterRegistry meterRegistry) {
+        this.thresholdMillis = Math.max(0, thresholdMillis);
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 开始订阅钉住事件
+     *
+     * @return 是否成功开始（当前 JDK 不支持时返回 {@code false}）
+     */
+    public synchronized boolean start() {
+        if (stream != null) {
+            return true;
+        }
+        Object recordingStream = null;
+        try {
+            Class<?> streamClass = Class.forName("jdk.jfr.consumer.RecordingStream");
+            Class<?> settingsClass = Class.forName("jdk.jfr.EventSettings");
+            recordingStream = streamClass.getConstructor().newInstance();
+            Object settings = streamClass.getMethod("enable", String.class).invoke(recordingStream, PINNED_EVENT);
+            settings = settingsClass.getMethod("withThreshold", Duration.class).invoke(settings, Duration.ofMillis(thresholdMillis));
+            settingsClass.getMethod("withStackTrace").invoke(settings);
+            Consumer<Object> handler = this::onPinned;
+            streamClass.getMethod("onEvent", String.class, Consumer.class).invoke(recordingStream, PINNED_EVENT, handler);
+            pinnedCount = Counter.builder("vod.virtual.pinned")
+                    .description("虚拟线程被钉住（阻塞时无法卸载）的次数").register(meterRegistry);
+            pinnedDuration = Timer.builder("vod.virtual.pinned.duration")
+                    .description("虚拟线程被钉住的时长").register(meterRegistry);
+            streamClass.getMethod("startAsync").invoke(recordingStream);
+            this.stream = recordingStream;
+            log.info("虚拟线程钉住诊断已开启，阈值: {}ms", thresholdMillis);
+            return true;
+        } catch (Exception | LinkageError e) {
+            closeQuietly(recordingStream);
+            log.warn("当前 JDK 不支持虚拟线程钉住诊断: {}", e.toString());
+            return false;
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        closeQuietly(stream);
+        stream = null;
+    }
+
+    private static void closeQuietly(Object recordingStream) {
+        if (recordingStream == null) {
+            return;
+        }
+        try {
+            ((AutoCloseable) recordingStream).close();
+        } catch (Exception e) {
+            log.debug("关闭 JFR 事件流失败: {}", e.toString());
+        }
+    }
+
+    private void onPinned(Object event) {
+        try {
+            Class<?> eventClass = Class.forName("jdk.jfr.consumer.RecordedEvent");
+            Duration duration = (Duration) eventClass.getMethod("getDuration").invoke(event);
+            pinnedCount.increment();
+            pinnedDuration.record(duration);
+
+            List<String> frames = frames(eventClass.getMethod("getStackTrace").invoke(event));
+            String site = frames.isEmpty() ? "unknown" : String.join(" <- ", frames.subList(0, Math.min(3, frames.size())));
+            if (reportedSites.size() < MAX_REPORTED_SITES && reportedSites.add(site)) {
+                log.warn("虚拟线程被钉住 {}ms，阻塞调用占用了载体线程，调用栈:\n\tat {}",
+                        duration.toMillis(), String.join("\n\tat ", frames));
+            }
+        } catch (Exception e) {
+            log.debug("解析钉住事件失败: {}", e.toString());
+        }
+    }
+
+    /**
+     * 将 {@code RecordedStackTrace} 转换为 {@code 类名.方法名:行号} 形式的调用栈
+     */
+    private static List<String> frames(Object stackTrace) throws Exception {
+        List<String> result = new ArrayList<>();
+        if (stackTrace == null) {
+            return result;
+        }
+        Class<?> stackTraceClass = Class.forName("jdk.jfr.consumer.RecordedStackTrace");
+        Class<?> frameClass = Class.forName("jdk.jfr.consumer.RecordedFrame");
+        Class<?> methodClass = Class.forName("jdk.jfr.consumer.RecordedMethod");
+        Class<?> typeClass = Class.forName("jdk.jfr.consumer.RecordedClass");
+        Method getFrames = stackTraceClass.getMethod("getFrames");
+        Method getMethod = frameClass.getMethod("getMethod");
+        Method getLineNumber = frameClass.getMethod("getLineNumber");
+        Method getType = methodClass.getMethod("getType");
+        Method getName = methodClass.getMethod("getName");
+        Method getTypeName = typeClass.getMethod("getName");
+
+        for (Object frame : (List<?>) getFrames.invoke(stackTrace)) {
+            if (result.size() >= MAX_FRAMES) {
+                break;
+            }
+            Object method = getMethod.invoke(frame);
+            String className = (String) getTypeName.invoke(getType.invoke(method));
+            result.add(className + "." + getName.invoke(method) + ":" + getLineNumber.invoke(frame));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,64 @@
+package com.aliyun.appserver.support;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 播单变更事件
+ *
+ * <p>播单通过写接口（创建、删除、更新基础信息、增删视频等）修改后发布，用于使播单快照等派生数据失效。
+ * 开启共享缓存时，事件会通知到其他实例，并在其他实例上以 {@link #isRemote()} 为 {@code true} 重新发布。</p>
+ *
+ * @author: pxc
+ * @date: 2026/10/17 22:10
+ */
+public class PlaylistChangedEvent {
+
+    private final Set<String> playlistIds;
+
+    private final boolean remote;
+
+    /**
+     * @param playlistIds 被修改的播单 ID，可为逗号分隔的多个 ID；为空表示只影响播单列表（如新建播单）
+     */
+    public PlaylistChangedEvent(String playlistIds) {
+        this(playlistIds, false);
+    }
+
+    /**
+     * @param playlistIds 被修改的播单 ID，可为逗号分隔的多个 ID；为空表示只影响播单列表（如新建播单）
+     * @param remote      是否为其他实例通知的修改
+     */
+    public PlaylistChangedEvent(String playlistIds, boolean remote) {
+        Set<String> ids = new LinkedHashSet<>();
+        if (playlistIds != null) {
+            Arrays.stream(playlistIds.split(","))
+                    .map(String::trim)
+                    .filter(id -> !id.isEmpty())
+                    .forEach(ids::add);
+        }
+        this.playlistIds = Collections.unmodifiableSet(ids);
+        this.remote = remote;
+    }
+
+    /**
+     * 被修改的播单 ID，可能为空集合
+     */
+    public Set<String> getPlaylistIds() {
+        return playlistIds;
+    }
+
+    /**
+     * 是否为其他实例通知的修改（本实例的缓存已由对方清除共享部分，只需处理本地数据）
+     */
+    public boolean isRemote() {
+        return remote;
+    }
+
+    @Override
+    public String toString() {
+        return "PlaylistChangedEvent" + playlistIds + (remote ? "(remote)" : "");
+    }
+}
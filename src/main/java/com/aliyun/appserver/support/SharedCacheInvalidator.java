@@ -0,0 +1,83 @@
+package com.aliyun.appserver.support;
+
+import com.aliyun.appserver.config.CacheConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * 跨实例的缓存失效通知
+ *
+ * <p>
+ * 本实例的播单写接口发布 {@link PlaylistChangedEvent} 时，两级缓存中的共享部分已由 {@code @CacheEvict} 删除，
+ * 这里再通过 Redis 发布订阅通知其他实例：
+ * <ul>
+ *     <li>清除被修改播单的本地 GetPlaylist 缓存与全部 GetPlaylists 缓存</li>
+ *     <li>在本地重新发布 {@link PlaylistChangedEvent}（{@code remote = true}），使播单快照等派生数据失效</li>
+ * </ul>
+ * 消息格式为 {@code 实例ID|逗号分隔的播单ID}，忽略本实例发出的消息。
+ * </p>
+ *
+ * @author: pxc
+ * @date: 2026/10/17 23:00
+ */
+public class SharedCacheInvalidator implements MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SharedCacheInvalidator.class);
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final SharedCacheTier shared;
+
+    private final CacheManager cacheManager;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public SharedCacheInvalidator(SharedCacheTier shared, CacheManager cacheManager, ApplicationEventPublisher eventPublisher) {
+        this.shared = shared;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * 本实例的播单修改：通知其他实例
+     */
+    @EventListener
+    public void onPlaylistChanged(PlaylistChangedEvent event) {
+        if (!event.isRemote()) {
+            shared.publish(instanceId + "|" + String.join(",", event.getPlaylistIds()));
+        }
+    }
+
+    /**
+     * 其他实例的播单修改：清除本地缓存并在本地重新发布事件
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf('|');
+        if (separator < 0 || body.substring(0, separator).equals(instanceId)) {
+            return;
+        }
+        PlaylistChangedEvent event = new PlaylistChangedEvent(body.substring(separator + 1), true);
+        log.debug("收到其他实例的播单修改通知: {}", event);
+
+        Cache playlist = cacheManager.getCache(CacheConfig.PLAYLIST);
+        if (playlist instanceof TwoLevelCache) {
+            event.getPlaylistIds().forEach(((TwoLevelCache) playlist)::evictLocal);
+        }
+        Cache playlists = cacheManager.getCache(CacheConfig.PLAYLISTS);
+        if (playlists instanceof TwoLevelCache) {
+            ((TwoLevelCache) playlists).clearLocal();
+        }
+        eventPublisher.publishEvent(event);
+    }
+}
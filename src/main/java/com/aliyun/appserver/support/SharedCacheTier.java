@@ -0,0 +1,267 @@
+package com.aliyun.appserver.support;
+
+import com.aliyun.appserver.config.VodConfig;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 共享缓存层（Redis），位于各实例的本地缓存之后
+ *
+ * <p>
+ * 缓存值使用 Smile（二进制 JSON）编码，首字节为编码版本，版本不一致的值视为未命中；
+ * 只有版本字节、没有内容的值表示"上游确认不存在"（用于视频 / 图片信息的负缓存）。
+ * key 为 {@code key-prefix + 缓存名 + ":" + key}。
+ * </p>
+ *
+ * <p>
+ * 共享缓存只是上游的加速层：任何 Redis 调用失败都按未命中处理，并在 {@code error-backoff-millis}
+ * 内跳过共享缓存，请求直接访问上游，不会因为 Redis 不可用而失败。
+ * </p>
+ *
+ * <p>指标：{@code vod.cache.shared{cache, result=hit|miss|error}}。</p>
+ *
+ * @author: pxc
+ * @date: 2026/10/17 23:00
+ */
+public class SharedCacheTier {
+
+    private static final Logger log = LoggerFactory.getLogger(SharedCacheTier.class);
+
+    /**
+     * 编码版本，调整编码方式时递增，旧版本写入的值自然失效
+     */
+    private static final byte VERSION = 1;
+
+    private static final int DELETE_BATCH_SIZE = 500;
+
+    private final RedisConnectionFactory connectionFactory;
+
+    private final ObjectMapper codec;
+
+    private final VodConfig.SharedCache config;
+
+    private final MeterRegistry meterRegistry;
+
+    private volatile long unavailableUntil;
+
+    public SharedCacheTier(RedisConnectionFactory connectionFactory, VodConfig.SharedCache config, MeterRegistry meterRegistry) {
+        this.connectionFactory = connectionFactory;
+        this.config = config;
+        this.meterRegistry = meterRegistry;
+        this.codec = new SmileMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    /**
+     * 查询单个值
+     *
+     * @return 缓存的值；未命中、已缓存为不存在或 Redis 不可用时返回 {@code null}
+     */
+    public <T> T get(String cacheName, String key, Class<T> type) {
+        Optional<T> value = getAll(cacheName, Collections.singletonList(key), type).get(key);
+        return value != null ? value.orElse(null) : null;
+    }
+
+    /**
+     * 批量查询
+     *
+     * @return 命中的 key 到值的映射，{@link Optional#empty()} 表示已缓存为不存在；未命中的 key 不返回
+     */
+    public <T> Map<String, Optional<T>> getAll(String cacheName, List<String> keys, Class<T> type) {
+        Map<String, Optional<T>> result = new HashMap<>();
+        if (keys.isEmpty()) {
+            return result;
+        }
+        List<byte[]> values = execute(cacheName, connection -> connection.stringCommands()
+                .mGet(keys.stream().map(key -> rawKey(cacheName, key)).toArray(byte[][]::new)));
+        if (values == null) {
+            return result;
+        }
+        for (int i = 0; i < keys.size() && i < values.size(); i++) {
+            Optional<T> value = decode(cacheName, values.get(i), type);
+            if (value != null) {
+                result.put(keys.get(i), value);
+            }
+        }
+        count(cacheName, "hit", result.size());
+        count(cacheName, "miss", keys.size() - result.size());
+        return result;
+    }
+
+    /**
+     * 写入单个值
+     *
+     * @param value      缓存的值，{@code null} 表示上游确认不存在
+     * @param ttlSeconds 过期时间（秒），小于等于 0 时不写入
+     */
+    public void put(String cacheName, String key, Object value, long ttlSeconds) {
+        putAll(cacheName, Collections.singletonMap(key, value), ttlSeconds);
+    }
+
+    /**
+     * 批量写入，使用管道一次发送
+     *
+     * @param values     key 到值的映射，值为 {@code null} 表示上游确认不存在
+     * @param ttlSeconds 过期时间（秒），小于等于 0 时不写入
+     */
+    public void putAll(String cacheName, Map<String, ?> values, long ttlSeconds) {
+        if (values.isEmpty() || ttlSeconds <= 0) {
+            return;
+        }
+        Map<byte[], byte[]> encoded = new HashMap<>();
+        for (Map.Entry<String, ?> entry : values.entrySet()) {
+            byte[] value = encode(cacheName, entry.getValue());
+            if (value != null) {
+                encoded.put(rawKey(cacheName, entry.getKey()), value);
+            }
+        }
+        execute(cacheName, connection -> {
+            connection.openPipeline();
+            try {
+                encoded.forEach((key, value) -> connection.stringCommands()
+                        .set(key, value, Expiration.seconds(ttlSeconds), RedisStringCommands.SetOption.upsert()));
+            } finally {
+                connection.closePipeline();
+            }
+            return Boolean.TRUE;
+        });
+    }
+
+    /**
+     * 删除单个值
+     */
+    public void evict(String cacheName, String key) {
+        execute(cacheName, connection -> connection.keyCommands().del(rawKey(cacheName, key)));
+    }
+
+    /**
+     * 删除缓存的全部值（按前缀 SCAN 后分批删除）
+     */
+    public void clear(String cacheName) {
+        ScanOptions options = ScanOptions.scanOptions()
+                .match(config.getKeyPrefix() + cacheName + ":*")
+                .count(DELETE_BATCH_SIZE)
+                .build();
+        execute(cacheName, connection -> {
+            List<byte[]> batch = new ArrayList<>();
+            try (Cursor<byte[]> cursor = connection.keyCommands().scan(options)) {
+                while (cursor.hasNext()) {
+                    batch.add(cursor.next());
+                    if (batch.size() >= DELETE_BATCH_SIZE) {
+                        connection.keyCommands().del(batch.toArray(new byte[0][]));
+                        batch.clear();
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                connection.keyCommands().del(batch.toArray(new byte[0][]));
+            }
+            return Boolean.TRUE;
+        });
+    }
+
+    /**
+     * 向失效通知频道发布消息
+     */
+    public void publish(String message) {
+        execute(config.getChannel(), connection -> connection.publish(
+                config.getChannel().getBytes(StandardCharsets.UTF_8), message.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * 执行 Redis 调用；暂停期间或调用失败时返回 {@code null}
+     */
+    private <R> R execute(String cacheName, RedisCall<R> call) {
+        if (System.currentTimeMillis() < unavailableUntil) {
+            return null;
+        }
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            return call.apply(connection);
+        } catch (Exception e) {
+            if (System.currentTimeMillis() >= unavailableUntil) {
+                log.warn("共享缓存不可用，{}ms 内直接访问上游: {}", config.getErrorBackoffMillis(), e.toString());
+            }
+            unavailableUntil = System.currentTimeMillis() + config.getErrorBackoffMillis();
+            count(cacheName, "error", 1);
+            return null;
+        }
+    }
+
+    private byte[] rawKey(String cacheName, String key) {
+        return (config.getKeyPrefix() + cacheName + ":" + key).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private byte[] encode(String cacheName, Object value) {
+        if (value == null) {
+            return new byte[]{VERSION};
+        }
+        try {
+            byte[] payload = codec.writeValueAsBytes(value);
+            byte[] result = new byte[payload.length + 1];
+            result[0] = VERSION;
+            System.arraycopy(payload, 0, result, 1, payload.length);
+            return result;
+        } catch (Exception e) {
+            log.warn("共享缓存值编码失败 [{}]: {}", cacheName, e.toString());
+            return null;
+        }
+    }
+
+    /**
+     * 解码缓存值
+     *
+     * @return 缓存的值，{@link Optional#empty()} 表示已缓存为不存在；未命中、版本不一致或无法解码时返回 {@code null}
+     */
+    private <T> Optional<T> decode(String cacheName, byte[] value, Class<T> type) {
+        if (value == null || value.length == 0 || value[0] != VERSION) {
+            return null;
+        }
+        if (value.length == 1) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(codec.readValue(Arrays.copyOfRange(value, 1, value.length), type));
+        } catch (Exception e) {
+            log.warn("共享缓存值解码失败 [{}]: {}", cacheName, e.toString());
+            return null;
+        }
+    }
+
+    private void count(String cacheName, String result, int amount) {
+        if (amount > 0) {
+            Counter.builder("vod.cache.shared")
+                    .description("共享缓存查询次数")
+                    .tag("cache", cacheName)
+                    .tag("result", result)
+                    .register(meterRegistry)
+                    .increment(amount);
+        }
+    }
+
+    /**
+     * Redis 调用
+     */
+    @FunctionalInterface
+    private interface RedisCall<R> {
+        R apply(RedisConnection connection) throws Exception;
+    }
+}
@@ -0,0 +1,115 @@
+package com.aliyun.appserver.support;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+/**
+ * 请求合并（single-flight）工具
+ *
+ * <p>
+ * 相同 key 的并发调用只有第一个（leader）真正执行，其余调用（follower）等待并共享 leader 的结果或异常；
+ * 调用结束后立即移除 key，不做任何缓存，后续调用会重新执行。
+ * </p>
+ *
+ * <p>leader 在调用方线程内直接执行，不额外切换线程。共享的结果为同一对象，调用方不应修改。</p>
+ *
+ * <p>
+ * 共享的调用不继承 leader 的请求截止时间（{@link Deadline}），避免某个调用方的短预算使其他调用方一起超时；
+ * follower 按各自的剩余时间等待，超时只影响自身，不取消共享的调用。
+ * </p>
+ *
+ * @author: pxc
+ * @date: 2026/10/17 16:05
+ */
+public class SingleFlight {
+
+    /**
+     * 可抛出受检异常的调用
+     *
+     * @param <T> 返回值类型
+     * @param <E> 异常类型
+     */
+    @FunctionalInterface
+    public interface Call<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    /**
+     * 合并回调，follower 加入一次进行中的调用时触发，可用于统计
+     */
+    @FunctionalInterface
+    public interface Listener {
+        void onCollapsed(String key);
+    }
+
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final Listener listener;
+
+    public SingleFlight(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * 执行调用，相同 key 的并发调用共享同一次执行
+     *
+     * @param key  调用标识，相同 key 视为相同调用
+     * @param call 实际调用
+     * @return 调用结果
+     * @throws E 实际调用抛出的异常（follower 收到与 leader 相同的异常实例）
+     */
+    @SuppressWarnings("unchecked")
+    public <T, E extends Exception> T execute(String key, Call<T, E> call) throws E {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            if (listener != null) {
+                listener.onCollapsed(key);
+            }
+            return (T) await(key, existing);
+        }
+
+        // 共享调用由多个请求使用，不继承 leader 的请求截止时间
+        try (Deadline.Scope ignored = Deadline.attach(null)) {
+            T result = call.call();
+            future.complete(result);
+            return result;
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * 当前进行中的调用数
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E extends Exception> Object await(String key, CompletableFuture<Object> future) throws E {
+        try {
+            // 等待共享结果的副本：超时取消时只取消副本，不影响 leader 与其他 follower
+            return Deadline.await(future.thenApply(Function.identity()), key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw (E) cause;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.aliyun.appserver.support;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 令牌预算
+ *
+ * <p>
+ * 用于限制额外请求（重试、对冲请求等）在正常请求中的占比：每次正常请求存入 {@code ratio} 个令牌，
+ * 每次额外请求消耗 1 个令牌，令牌不足时不再发起额外请求。
+ * 上游整体故障时令牌很快耗尽，额外请求被自动抑制，避免重试风暴放大故障。
+ * </p>
+ *
+ * <p>例如 {@code ratio = 0.1} 表示长期来看额外请求不超过正常请求的 10%；
+ * {@code maxTokens} 为令牌上限，同时也是初始令牌数，允许少量突发。</p>
+ *
+ * @author: pxc
+ * @date: 2026/10/17 17:30
+ */
+public class TokenBudget {
+
+    /**
+     * 内部以千分之一令牌为单位计数，避免浮点运算
+     */
+    private static final long SCALE = 1000;
+
+    private final long maxBalance;
+
+    private final long deposit;
+
+    private final AtomicLong balance;
+
+    /**
+     * @param ratio     每次正常请求存入的令牌数
+     * @param maxTokens 令牌上限（初始令牌数）
+     */
+    public TokenBudget(double ratio, double maxTokens) {
+        this.deposit = Math.max(0, Math.round(ratio * SCALE));
+        this.maxBalance = Math.max(SCALE, Math.round(maxTokens * SCALE));
+        this.balance = new AtomicLong(maxBalance);
+    }
+
+    /**
+     * 记录一次正常请求，存入令牌
+     */
+    public void deposit() {
+        if (balance.get() < maxBalance) {
+            balance.updateAndGet(current -> Math.min(maxBalance, current + deposit));
+        }
+    }
+
+    /**
+     * 尝试为一次额外请求消耗 1 个令牌
+     *
+     * @return 是否允许发起额外请求
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            long current = balance.get();
+            if (current < SCALE) {
+                return false;
+            }
+            if (balance.compareAndSet(current, current - SCALE)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 归还 {@link #tryAcquire()} 取得、但额外请求最终未能发出（如线程池拒绝）的令牌
+     */
+    public void refund() {
+        balance.updateAndGet(current -> Math.min(maxBalance, current + SCALE));
+    }
+
+    /**
+     * 当前剩余令牌数
+     */
+    public double getTokens() {
+        return balance.get() / (double) SCALE;
+    }
+}
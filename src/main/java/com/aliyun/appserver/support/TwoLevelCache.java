@@ -0,0 +1,135 @@
+package com.aliyun.appserver.support;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+
+/**
+ * 两级缓存：本地缓存（Caffeine）+ 共享缓存（{@link SharedCacheTier}）
+ *
+ * <p>
+ * 用于 {@code @Cacheable} / {@code @CacheEvict} 声明的 OpenAPI 读结果缓存：
+ * <ul>
+ *     <li>读取时先查本地缓存，未命中再查共享缓存，共享缓存命中的值写回本地缓存</li>
+ *     <li>写入时同时写入两级缓存，共享缓存与本地缓存使用相同的过期时间</li>
+ *     <li>失效时同时删除两级缓存；其他实例的本地缓存由失效通知清除（{@link #evictLocal} / {@link #clearLocal}）</li>
+ * </ul>
+ * </p>
+ *
+ * @author: pxc
+ * @date: 2026/10/17 23:00
+ */
+public class TwoLevelCache implements Cache {
+
+    private final CaffeineCache local;
+
+    private final SharedCacheTier shared;
+
+    private final Class<?> valueType;
+
+    private final long ttlSeconds;
+
+    /**
+     * @param local      本地缓存
+     * @param shared     共享缓存
+     * @param valueType  缓存值类型，用于共享缓存解码
+     * @param ttlSeconds 共享缓存过期时间（秒）
+     */
+    public TwoLevelCache(CaffeineCache local, SharedCacheTier shared, Class<?> valueType, long ttlSeconds) {
+        this.local = local;
+        this.shared = shared;
+        this.valueType = valueType;
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    @Override
+    public String getName() {
+        return local.getName();
+    }
+
+    /**
+     * 本地缓存（Caffeine），用于注册缓存指标
+     */
+    @Override
+    public com.github.benmanes.caffeine.cache.Cache<Object, Object> getNativeCache() {
+        return local.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper wrapper = local.get(key);
+        if (wrapper != null) {
+            return wrapper;
+        }
+        Object value = shared.get(getName(), key.toString(), valueType);
+        if (value == null) {
+            return null;
+        }
+        local.put(key, value);
+        return new SimpleValueWrapper(value);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("缓存值类型不匹配 [" + getName() + "]: " + value.getClass().getName());
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        local.put(key, value);
+        if (value != null) {
+            shared.put(getName(), key.toString(), value, ttlSeconds);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        local.evict(key);
+        shared.evict(getName(), key.toString());
+    }
+
+    @Override
+    public void clear() {
+        local.clear();
+        shared.clear(getName());
+    }
+
+    /**
+     * 只删除本地缓存，用于处理其他实例的失效通知
+     */
+    public void evictLocal(Object key) {
+        local.evict(key);
+    }
+
+    /**
+     * 只清空本地缓存，用于处理其他实例的失效通知
+     */
+    public void clearLocal() {
+        local.clear();
+    }
+}
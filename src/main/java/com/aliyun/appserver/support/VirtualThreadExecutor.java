@@ -0,0 +1,148 @@
+package com.aliyun.appserver.support;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 基于虚拟线程的有界执行器
+ *
+ * <p>
+ * 每个任务运行在独立的虚拟线程上，并通过信号量限制同时执行的任务数，
+ * 避免在虚拟线程模式下对上游 OpenAPI 造成无上限的并发压力。
+ * 等待信号量的任务以挂起的虚拟线程形式存在，开销很低。
+ * </p>
+ *
+ * <p>
+ * 项目以 Java 8 为编译目标，因此通过反射调用 JDK 21 的虚拟线程 API；
+ * 可先调用 {@link #isSupported()} 判断当前运行时是否可用。
+ * </p>
+ *
+ * @author: pxc
+ * @date: 2026/10/17 10:12
+ */
+public class VirtualThreadExecutor extends AbstractExecutorService {
+
+    private final ExecutorService delegate;
+
+    private final Semaphore permits;
+
+    private final int maxConcurrency;
+
+    /**
+     * @param threadNamePrefix 虚拟线程名前缀
+     * @param maxConcurrency   同时执行的最大任务数
+     * @throws IllegalStateException 当前 JDK 不支持虚拟线程时抛出
+     */
+    public VirtualThreadExecutor(String threadNamePrefix, int maxConcurrency) {
+        this.delegate = newVirtualThreadPerTaskExecutor(threadNamePrefix);
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.permits = new Semaphore(this.maxConcurrency);
+    }
+
+    /**
+     * 当前运行时是否支持虚拟线程（JDK 21+）
+     */
+    public static boolean isSupported() {
+        try {
+            Thread.class.getMethod("ofVirtual");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 创建一个虚拟线程工厂（JDK 21+），名称形如 {@code prefix0, prefix1 ...}
+     *
+     * @param threadNamePrefix 虚拟线程名前缀
+     * @return 虚拟线程工厂
+     * @throws IllegalStateException 当前 JDK 不支持虚拟线程时抛出
+     */
+    public static ThreadFactory newVirtualThreadFactory(String threadNamePrefix) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, threadNamePrefix, 0L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (Exception e) {
+            throw new IllegalStateException("当前 JDK 不支持虚拟线程", e);
+        }
+    }
+
+    /**
+     * 创建一个不限并发的"每任务一个虚拟线程"执行器（JDK 21+），用于 Web 容器等自身已有并发上限的场景
+     *
+     * @param threadNamePrefix 虚拟线程名前缀
+     * @return 执行器
+     * @throws IllegalStateException 当前 JDK 不支持虚拟线程时抛出
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor(String threadNamePrefix) {
+        try {
+            ThreadFactory factory = newVirtualThreadFactory(threadNamePrefix);
+            Method method = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) method.invoke(null, factory);
+        } catch (IllegalStateException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("当前 JDK 不支持虚拟线程", e);
+        }
+    }
+
+    /**
+     * 正在等待执行许可的任务数（近似值）
+     */
+    public int getQueuedTaskCount() {
+        return permits.getQueueLength();
+    }
+
+    /**
+     * 当前正在执行的任务数（近似值）
+     */
+    public int getActiveCount() {
+        return Math.max(0, maxConcurrency - permits.availablePermits());
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        delegate.execute(() -> {
+            // 不响应中断，保证已提交的任务（如 CompletableFuture）最终一定会被执行并完成
+            permits.acquireUninterruptibly();
+            try {
+                command.run();
+            } finally {
+                permits.release();
+            }
+        });
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+}
@@ -0,0 +1,262 @@
+package com.aliyun.appserver.support;
+
+import com.aliyun.appserver.config.VodConfig;
+import com.aliyuncs.exceptions.ClientException;
+import com.aliyuncs.exceptions.ServerException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedRateLimiterMetrics;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * VOD OpenAPI 容错保护：按 Action 划分的限流、熔断器与舱壁隔离
+ *
+ * <p>
+ * 每个 Action（GetPlaylist、GetVideoInfos、GetAppPlayKey ...）拥有独立的熔断器与并发舱壁，
+ * 单个接口变慢或不可用时不会耗尽 Web 容器线程，也不会影响其他接口：
+ * <ul>
+ *     <li><b>熔断器</b>：滑动窗口内失败率或慢调用比例超过阈值后打开，打开期间直接快速失败，
+ *     等待一段时间后进入半开状态放行少量探测请求</li>
+ *     <li><b>限流</b>：按 Action 的令牌桶，与阿里云 OpenAPI 的 QPS 配额对应；超出配额时短暂排队，
+ *     仍无法获得许可则抛出 {@link VodThrottledException}</li>
+ *     <li><b>舱壁</b>：限制单个接口同时进行的调用数，超出且短暂等待后仍无空位时快速失败</li>
+ *     <li><b>重试</b>：只读接口（{@code Get*}）遇到上游临时故障时，按 {@link BackoffRetry} 退避重试，
+ *     每次重试都重新经过熔断器与舱壁</li>
+ *     <li><b>降级</b>：只读接口成功时保留最近一次结果；快速失败或重试后仍为上游临时故障时，
+ *     若存在相同参数的历史结果则直接返回</li>
+ * </ul>
+ * </p>
+ *
+ * <p>
+ * 快速失败以 {@link ClientException} 抛出（错误码 {@link #CIRCUIT_OPEN} / {@link #BULKHEAD_FULL}），
+ * 与 SDK 自身的异常处理方式一致，调用方已有的异常处理逻辑无需修改。
+ * 只有上游临时故障（服务端错误、限流、网络超时等）计入熔断失败率，参数错误、资源不存在等不计入。
+ * </p>
+ *
+ * <p>指标：{@code resilience4j.circuitbreaker.*}、{@code resilience4j.bulkhead.*}、{@code resilience4j.ratelimiter.*}、
+ * {@code vod.sdk.throttle.wait{action}}、{@code vod.sdk.retries}、{@code vod.sdk.fallback{action}}。</p>
+ *
+ * @author: pxc
+ * @date: 2026/10/17 17:00
+ */
+public class VodApiGuard {
+
+    /**
+     * 熔断器打开时的错误码
+     */
+    public static final String CIRCUIT_OPEN = "VOD.CircuitOpen";
+
+    /**
+     * 舱壁已满时的错误码
+     */
+    public static final String BULKHEAD_FULL = "VOD.BulkheadFull";
+
+    private static final Logger log = LoggerFactory.getLogger(VodApiGuard.class);
+
+    private final CircuitBreakerRegistry circuitBreakers;
+
+    private final BulkheadRegistry bulkheads;
+
+    /**
+     * 按 Action 的限流器，未开启时为 {@code null}
+     */
+    private final RateLimiterRegistry rateLimiters;
+
+    private final VodConfig.RateLimit rateLimit;
+
+    /**
+     * 只读接口最近一次成功的结果，key 为请求标识（Action + 参数）
+     */
+    private final Cache<String, Object> lastGood;
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 只读接口的重试器，未开启时为 {@code null}
+     */
+    private final BackoffRetry retry;
+
+    public VodApiGuard(VodConfig.Resilience config, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+
+        VodConfig.CircuitBreaker cb = config.getCircuitBreaker();
+        this.circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(cb.getSlidingWindowSize())
+                .minimumNumberOfCalls(cb.getMinimumNumberOfCalls())
+                .failureRateThreshold(cb.getFailureRateThreshold())
+                .slowCallDurationThreshold(Duration.ofMillis(cb.getSlowCallDurationThresholdMillis()))
+                .slowCallRateThreshold(cb.getSlowCallRateThreshold())
+                .waitDurationInOpenState(Duration.ofSeconds(cb.getWaitDurationInOpenStateSeconds()))
+                .permittedNumberOfCallsInHalfOpenState(cb.getPermittedNumberOfCallsInHalfOpenState())
+                .recordException(VodApiGuard::isTransient)
+                .build());
+
+        VodConfig.Bulkhead bh = config.getBulkhead();
+        this.bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(bh.getMaxConcurrentCalls())
+                .maxWaitDuration(Duration.ofMillis(bh.getMaxWaitMillis()))
+                .build());
+
+        this.rateLimit = config.getRateLimit();
+        this.rateLimiters = rateLimit.isEnabled() ? RateLimiterRegistry.of(rateLimiterConfig(rateLimit.getDefaultQps())) : null;
+
+        this.lastGood = Caffeine.newBuilder()
+                .maximumSize(config.getFallback().getMaximumSize())
+                .expireAfterWrite(config.getFallback().getTtlSeconds(), TimeUnit.SECONDS)
+                .build();
+
+        VodConfig.Retry retryConfig = config.getRetry();
+        this.retry = retryConfig.isEnabled()
+                ? new BackoffRetry(retryConfig.getMaxAttempts(), retryConfig.getInitialBackoffMillis(),
+                retryConfig.getMaxBackoffMillis(), VodApiGuard::isTransient,
+                new TokenBudget(retryConfig.getBudgetRatio(), retryConfig.getBudgetMaxTokens()), meterRegistry)
+                : null;
+
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakers).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheads).bindTo(meterRegistry);
+        if (rateLimiters != null) {
+            TaggedRateLimiterMetrics.ofRateLimiterRegistry(rateLimiters).bindTo(meterRegistry);
+        }
+    }
+
+    private RateLimiterConfig rateLimiterConfig(int qps) {
+        return RateLimiterConfig.custom()
+                .limitForPeriod(Math.max(1, qps))
+                .limitRefreshPeriod(Duration.ofSeconds(1))
+                .timeoutDuration(Duration.ofMillis(rateLimit.getMaxWaitMillis()))
+                .build();
+    }
+
+    /**
+     * 在熔断器与舱壁保护下执行调用
+     *
+     * @param action   OpenAPI Action 名称，用于区分熔断器与舱壁
+     * @param key      请求标识（Action + 参数），用于降级结果的存取；为 {@code null} 时视为非幂等调用，不重试也不降级
+     * @param call     实际调用
+     * @return 调用结果，或降级时的历史结果
+     * @throws ClientException 调用失败且无可用的历史结果
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String action, String key, SingleFlight.Call<T, ClientException> call) throws ClientException {
+        try {
+            T result = key != null && retry != null
+                    ? retry.execute(action, () -> guarded(action, call))
+                    : guarded(action, call);
+            if (key != null && result != null) {
+                lastGood.put(key, result);
+            }
+            return result;
+        } catch (ClientException e) {
+            Object fallback = key != null && isFallbackEligible(e) ? lastGood.getIfPresent(key) : null;
+            if (fallback == null) {
+                throw e;
+            }
+            log.warn("调用 {} 失败，返回最近一次成功结果: Code={}", action, e.getErrCode());
+            Counter.builder("vod.sdk.fallback")
+                    .description("调用失败时返回最近一次成功结果的次数")
+                    .tag("action", action)
+                    .register(meterRegistry)
+                    .increment();
+            return (T) fallback;
+        }
+    }
+
+    private <T> T guarded(String action, SingleFlight.Call<T, ClientException> call) throws ClientException {
+        if (rateLimiters != null) {
+            throttle(action);
+        }
+        CircuitBreaker circuitBreaker = circuitBreakers.circuitBreaker(action);
+        Bulkhead bulkhead = bulkheads.bulkhead(action);
+
+        try {
+            bulkhead.acquirePermission();
+        } catch (BulkheadFullException e) {
+            throw new ClientException(BULKHEAD_FULL, "并发调用数已达上限: " + action);
+        }
+        try {
+            try {
+                circuitBreaker.acquirePermission();
+            } catch (CallNotPermittedException e) {
+                throw new ClientException(CIRCUIT_OPEN, "熔断器已打开，暂停调用: " + action);
+            }
+            long start = System.nanoTime();
+            try {
+                T result = call.call();
+                circuitBreaker.onSuccess(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return result;
+            } catch (Throwable e) {
+                circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+                throw e;
+            }
+        } finally {
+            bulkhead.onComplete();
+        }
+    }
+
+    /**
+     * 获取限流许可：配额不足时最多等待 {@code max-wait-millis}，仍无法获得则抛出 {@link VodThrottledException}
+     */
+    private void throttle(String action) {
+        Integer qps = rateLimit.getActions().get(action);
+        RateLimiter rateLimiter = qps != null
+                ? rateLimiters.rateLimiter(action, rateLimiterConfig(qps))
+                : rateLimiters.rateLimiter(action);
+        long waitNanos = rateLimiter.reservePermission();
+        if (waitNanos < 0) {
+            throw new VodThrottledException(action);
+        }
+        Timer.builder("vod.sdk.throttle.wait")
+                .description("等待限流许可的时间")
+                .tag("action", action)
+                .register(meterRegistry)
+                .record(waitNanos, TimeUnit.NANOSECONDS);
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new VodThrottledException(action);
+            }
+        }
+    }
+
+    /**
+     * 是否为上游临时故障：服务端错误、限流、SDK 网络错误（超时 / 不可达）
+     */
+    public static boolean isTransient(Throwable e) {
+        if (e instanceof ServerException) {
+            return true;
+        }
+        if (!(e instanceof ClientException)) {
+            return false;
+        }
+        String code = ((ClientException) e).getErrCode();
+        return code != null && (code.startsWith("SDK.") || code.startsWith("Throttling")
+                || code.equals("ServiceUnavailable") || code.equals("InternalError"));
+    }
+
+    private static boolean isFallbackEligible(ClientException e) {
+        String code = e.getErrCode();
+        return CIRCUIT_OPEN.equals(code) || BULKHEAD_FULL.equals(code) || isTransient(e);
+    }
+}
@@ -0,0 +1,29 @@
+package com.aliyun.appserver.support;
+
+import lombok.Getter;
+
+/**
+ * VOD OpenAPI 调用被本地限流拒绝
+ *
+ * <p>
+ * 与上游调用失败（{@code ClientException}，由各接口自行处理并返回空结果）不同，
+ * 该异常不会被 {@code VodSdkServiceImpl} 吞掉，而是直接抛到 Web 层，
+ * 由全局异常处理返回 {@code ResultCode.UPSTREAM_THROTTLED}（HTTP 429），提示客户端稍后重试。
+ * </p>
+ *
+ * @author: pxc
+ * @date: 2026/10/17 18:30
+ */
+@Getter
+public class VodThrottledException extends RuntimeException {
+
+    /**
+     * 被限流的 OpenAPI Action
+     */
+    private final String action;
+
+    public VodThrottledException(String action) {
+        super("VOD 接口调用超出限流配额: " + action);
+        this.action = action;
+    }
+}
@@ -0,0 +1,163 @@
+package com.aliyun.appserver.jwt;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * {@link PlayAuthSigner} 与 java-jwt（{@code JWT.create()...sign(Algorithm.HMAC256(playKey))}）输出逐字节一致
+ *
+ * <p>参照实现与改造前的 {@code JwtUtil#getPlayAuthToken} 完全相同；任何差异都会导致客户端播放鉴权失败。</p>
+ *
+ * @author: pxc
+ * @date: 2026/10/17 23:50
+ */
+class PlayAuthSignerTest {
+
+    private static final String PLAY_KEY = "6d3f1c0a9b8e4f2a";
+
+    private static final long NOW = 1760000000123L;
+
+    /**
+     * 代表性的 videoId：普通 ID、非 ASCII、需要 JSON 转义的字符与边界情况
+     */
+    private static final List<String> VIDEO_IDS = Arrays.asList(
+            "a1b2c3d4e5f60718293a4b5c6d7e8f90",
+            "x",
+            "视频-中文标题",
+            "ключ-ß-é-ü",
+            "emoji-🎬-😀",
+            "quote\"backslash\\slash/",
+            "ctrl\n\r\t\b\f\u0000\u0001\u001f",
+            "del\u007f-nbsp\u00a0-ls\u2028-ps\u2029",
+            "<script>&amp;'single'</script>",
+            " leading and trailing ",
+            "\uffff\ufeff");
+
+    @Test
+    void signMatchesJavaJwt() {
+        for (String videoId : VIDEO_IDS) {
+            assertEquals(reference("app-1000000", videoId, "cn-shanghai", PLAY_KEY, NOW, NOW + 3600000L),
+                    PlayAuthSigner.sign("app-1000000", videoId, "cn-shanghai", PLAY_KEY, NOW, NOW + 3600000L), videoId);
+        }
+    }
+
+    @Test
+    void signMatchesJavaJwtForOtherClaims() {
+        String[][] claims = {
+                {"应用-1", "ap-southeast-1", "密钥-key"},
+                {"app\"quoted\\", "region\n", "k"},
+                {"", "", "p"},
+                {"app-😀", "cn-北京", "a-much-longer-play-key-that-exceeds-the-hmac-block-size-of-sixty-four-bytes-0123456789"}
+        };
+        long[][] timestamps = {{0, 1}, {9, 10}, {NOW, NOW + 3600000L}, {-1, Long.MAX_VALUE}};
+        for (String[] claim : claims) {
+            for (long[] timestamp : timestamps) {
+                for (String videoId : VIDEO_IDS) {
+                    assertEquals(reference(claim[0], videoId, claim[1], claim[2], timestamp[0], timestamp[1]),
+                            PlayAuthSigner.sign(claim[0], videoId, claim[1], claim[2], timestamp[0], timestamp[1]),
+                            Arrays.toString(claim) + " " + videoId);
+                }
+            }
+        }
+    }
+
+    @Test
+    void signAllMatchesJavaJwtForSeveralBatchSizes() {
+        for (int size : new int[]{1, 2, 3, 7, 20, 200}) {
+            List<String> videoIds = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                videoIds.add(VIDEO_IDS.get(i % VIDEO_IDS.size()) + i);
+            }
+            List<String> tokens = PlayAuthSigner.signAll("app-1000000", videoIds, "cn-shanghai", PLAY_KEY, NOW, NOW + 3600000L);
+            assertEquals(size, tokens.size());
+            for (int i = 0; i < size; i++) {
+                assertEquals(reference("app-1000000", videoIds.get(i), "cn-shanghai", PLAY_KEY, NOW, NOW + 3600000L),
+                        tokens.get(i), "batch " + size + " #" + i);
+            }
+        }
+        assertEquals(Collections.emptyList(),
+                PlayAuthSigner.signAll("app-1000000", Collections.emptyList(), "cn-shanghai", PLAY_KEY, NOW, NOW + 1));
+    }
+
+    @Test
+    void signAllSkipsBlankAndUnencodableVideoIds() {
+        List<String> videoIds = Arrays.asList("v1", null, " ", "lone-\uD800", "v2");
+
+        List<String> tokens = PlayAuthSigner.signAll("应用", videoIds, "cn-shanghai", PLAY_KEY, NOW, NOW + 1);
+
+        assertEquals(reference("应用", "v1", "cn-shanghai", PLAY_KEY, NOW, NOW + 1), tokens.get(0));
+        assertNull(tokens.get(1));
+        assertNull(tokens.get(2));
+        assertNull(tokens.get(3));
+        assertEquals(reference("应用", "v2", "cn-shanghai", PLAY_KEY, NOW, NOW + 1), tokens.get(4));
+        assertThrows(IllegalArgumentException.class,
+                () -> PlayAuthSigner.sign("app", "lone-\uDC00", "cn-shanghai", PLAY_KEY, NOW, NOW + 1));
+    }
+
+    @Test
+    void reusesThreadStateAcrossPlayKeys() {
+        for (String playKey : Arrays.asList("k1", "k2", "k1", "播放密钥")) {
+            assertEquals(reference("app-1000000", "v1", "cn-shanghai", playKey, NOW, NOW + 1),
+                    PlayAuthSigner.sign("app-1000000", "v1", "cn-shanghai", playKey, NOW, NOW + 1), playKey);
+            assertEquals(Collections.singletonList(reference("app-1000000", "v2", "cn-shanghai", playKey, NOW, NOW + 1)),
+                    PlayAuthSigner.signAll("app-1000000", Collections.singletonList("v2"), "cn-shanghai", playKey, NOW, NOW + 1));
+        }
+    }
+
+    @Test
+    void jwtUtilAppliesDefaultRegionAndAppId() {
+        for (String blank : Arrays.asList(null, "", "  ")) {
+            String token = JwtUtil.getPlayAuthToken("视频-1", PLAY_KEY, blank, blank);
+            assertMatchesReference(token, "视频-1", JwtConstants.DEFAULT_APP_ID, JwtConstants.DEFAULT_REGION_ID);
+
+            List<String> tokens = JwtUtil.getPlayAuthTokens(VIDEO_IDS, PLAY_KEY, blank, blank);
+            for (int i = 0; i < VIDEO_IDS.size(); i++) {
+                assertMatchesReference(tokens.get(i), VIDEO_IDS.get(i), JwtConstants.DEFAULT_APP_ID, JwtConstants.DEFAULT_REGION_ID);
+            }
+        }
+        assertMatchesReference(JwtUtil.getPlayAuthToken("v1", PLAY_KEY, "ap-southeast-1", "app-2"), "v1", "app-2", "ap-southeast-1");
+    }
+
+    /**
+     * JwtUtil 使用当前时间签发：用 java-jwt 校验并读出时间戳，再按相同参数生成参照 Token 比较
+     */
+    private static void assertMatchesReference(String token, String videoId, String appId, String regionId) {
+        DecodedJWT decoded = JWT.require(Algorithm.HMAC256(PLAY_KEY)).build().verify(token);
+        long currentTimeStamp = decoded.getClaim("currentTimeStamp").asLong();
+        long expireTimeStamp = decoded.getClaim("expireTimeStamp").asLong();
+        assertEquals(JwtConstants.EXPIRED_TIME_MILLS, expireTimeStamp - currentTimeStamp);
+        assertEquals(reference(appId, videoId, regionId, PLAY_KEY, currentTimeStamp, expireTimeStamp), token, videoId);
+    }
+
+    /**
+     * 改造前的签发方式
+     */
+    private static String reference(String appId, String videoId, String regionId, String playKey,
+                                    long currentTimeStamp, long expireTimeStamp) {
+        HashMap<String, Object> playContentInfo = new HashMap<>();
+        playContentInfo.put("formats", "mp4");
+        playContentInfo.put("authTimeout", 1800L);
+        playContentInfo.put("streamType", "video");
+
+        return JWT.create()
+                .withClaim("appId", appId)
+                .withClaim("videoId", videoId)
+                .withClaim("currentTimeStamp", currentTimeStamp)
+                .withClaim("expireTimeStamp", expireTimeStamp)
+                .withClaim("regionId", regionId)
+                .withClaim("playContentInfo", playContentInfo)
+                .sign(Algorithm.HMAC256(playKey));
+    }
+}
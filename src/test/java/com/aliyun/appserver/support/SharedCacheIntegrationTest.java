@@ -0,0 +1,444 @@
+package com.aliyun.appserver.support;
+
+import com.aliyun.appserver.config.CacheConfig;
+import com.aliyun.appserver.config.VodConfig;
+import com.aliyuncs.vod.model.v20170321.GetPlaylistResponse;
+import com.aliyuncs.vod.model.v20170321.GetPlaylistsResponse;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 共享缓存集成测试：{@link SharedCacheTier}、{@link TwoLevelCache} 与 {@link SharedCacheInvalidator}
+ * 运行在嵌入式 Redis 上
+ *
+ * <p>覆盖 Smile 编码与版本字节、负缓存标记、两级缓存的读写与失效、跨实例失效通知，以及 Redis 不可用时的退避。</p>
+ *
+ * @author: pxc
+ * @date: 2026/10/17 23:40
+ */
+class SharedCacheIntegrationTest {
+
+    private static final String KEY_PREFIX = "test:";
+
+    private static RedisServer server;
+
+    private static int port;
+
+    private final List<LettuceConnectionFactory> connectionFactories = new ArrayList<>();
+
+    private final List<RedisMessageListenerContainer> containers = new ArrayList<>();
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        port = freePort();
+        server = RedisServer.newRedisServer().port(port).bind("127.0.0.1").setting("save \"\"").build();
+        server.start();
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        try (RedisConnection connection = connectionFactory(port).getConnection()) {
+            connection.serverCommands().flushAll();
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (RedisMessageListenerContainer container : containers) {
+            container.destroy();
+        }
+        connectionFactories.forEach(LettuceConnectionFactory::destroy);
+    }
+
+    // ---------------------------------------------------------------------
+    // 编码
+    // ---------------------------------------------------------------------
+
+    @Test
+    void roundTripsValuesAsVersionedSmile() throws IOException {
+        SharedCacheTier tier = tier(port, 5000);
+        GetPlaylistResponse playlist = playlist("pl1", "v1", "v2");
+
+        tier.put(CacheConfig.PLAYLIST, "pl1", playlist, 60);
+
+        byte[] raw = raw("vod.playlist:pl1");
+        assertNotNull(raw);
+        assertEquals(1, raw[0], "首字节为编码版本");
+        GetPlaylistResponse decoded = new SmileMapper().readValue(Arrays.copyOfRange(raw, 1, raw.length), GetPlaylistResponse.class);
+        assertPlaylist(decoded, "pl1", "v1", "v2");
+
+        assertPlaylist(tier.get(CacheConfig.PLAYLIST, "pl1", GetPlaylistResponse.class), "pl1", "v1", "v2");
+        try (RedisConnection connection = connection()) {
+            Long ttl = connection.keyCommands().ttl(key("vod.playlist:pl1"));
+            assertTrue(ttl != null && ttl > 0 && ttl <= 60, "写入时设置过期时间: " + ttl);
+        }
+    }
+
+    @Test
+    void storesNegativeMarkerAsVersionByteOnly() {
+        SharedCacheTier tier = tier(port, 5000);
+        Map<String, Object> values = new HashMap<>();
+        values.put("missing", null);
+        values.put("present", playlist("present"));
+
+        tier.putAll(CacheConfig.PLAYLIST, values, 60);
+
+        assertArrayEquals(new byte[]{1}, raw("vod.playlist:missing"));
+        Map<String, Optional<GetPlaylistResponse>> result =
+                tier.getAll(CacheConfig.PLAYLIST, Arrays.asList("missing", "present", "absent"), GetPlaylistResponse.class);
+        assertEquals(Optional.empty(), result.get("missing"), "只有版本字节的值表示上游确认不存在");
+        assertPlaylist(result.get("present").orElse(null), "present");
+        assertFalse(result.containsKey("absent"), "未命中的 key 不返回");
+        assertNull(tier.get(CacheConfig.PLAYLIST, "missing", GetPlaylistResponse.class));
+        assertEquals(1, count(CacheConfig.PLAYLIST, "miss"));
+    }
+
+    @Test
+    void treatsOtherVersionsAsMiss() {
+        SharedCacheTier tier = tier(port, 5000);
+        tier.put(CacheConfig.PLAYLIST, "pl1", playlist("pl1"), 60);
+        byte[] raw = raw("vod.playlist:pl1");
+        raw[0] = 2;
+        try (RedisConnection connection = connection()) {
+            connection.stringCommands().set(key("vod.playlist:pl1"), raw);
+            connection.stringCommands().set(key("vod.playlist:empty"), new byte[0]);
+        }
+
+        assertNull(tier.get(CacheConfig.PLAYLIST, "pl1", GetPlaylistResponse.class));
+        assertTrue(tier.getAll(CacheConfig.PLAYLIST, Arrays.asList("pl1", "empty"), GetPlaylistResponse.class).isEmpty());
+    }
+
+    // ---------------------------------------------------------------------
+    // 两级缓存
+    // ---------------------------------------------------------------------
+
+    @Test
+    void readsThroughSharedTierAndWritesBackLocally() {
+        TwoLevelCache first = twoLevelCache(CacheConfig.PLAYLIST, tier(port, 5000));
+        TwoLevelCache second = twoLevelCache(CacheConfig.PLAYLIST, tier(port, 5000));
+
+        GetPlaylistResponse loaded = first.get("pl1", () -> playlist("pl1", "v1"));
+        assertPlaylist(loaded, "pl1", "v1");
+        assertNotNull(first.getNativeCache().getIfPresent("pl1"), "加载的值写入本地缓存");
+        assertNotNull(raw("vod.playlist:pl1"), "加载的值写入共享缓存");
+
+        assertNull(second.getNativeCache().getIfPresent("pl1"));
+        assertPlaylist(second.get("pl1", GetPlaylistResponse.class), "pl1", "v1");
+        assertNotNull(second.getNativeCache().getIfPresent("pl1"), "共享缓存命中的值写回本地缓存");
+        assertEquals(1, count(CacheConfig.PLAYLIST, "hit"));
+
+        assertPlaylist(second.get("pl1", () -> {
+            throw new AssertionError("已缓存的值不应重新加载");
+        }), "pl1", "v1");
+    }
+
+    @Test
+    void doesNotWriteNullValuesToSharedTier() {
+        TwoLevelCache cache = twoLevelCache(CacheConfig.PLAYLIST, tier(port, 5000));
+
+        cache.put("pl1", null);
+
+        assertNull(raw("vod.playlist:pl1"));
+    }
+
+    @Test
+    void evictsBothTiers() {
+        TwoLevelCache first = twoLevelCache(CacheConfig.PLAYLIST, tier(port, 5000));
+        TwoLevelCache second = twoLevelCache(CacheConfig.PLAYLIST, tier(port, 5000));
+        first.put("pl1", playlist("pl1"));
+        assertNotNull(second.get("pl1"));
+
+        first.evict("pl1");
+
+        assertNull(first.getNativeCache().getIfPresent("pl1"));
+        assertNull(raw("vod.playlist:pl1"));
+        assertNotNull(second.get("pl1"), "其他实例的本地缓存由失效通知清除");
+        second.evictLocal("pl1");
+        assertNull(second.get("pl1"));
+    }
+
+    @Test
+    void clearsOnlyKeysOfTheCache() {
+        SharedCacheTier tier = tier(port, 5000);
+        TwoLevelCache playlists = twoLevelCache(CacheConfig.PLAYLISTS, tier);
+        Map<String, Object> values = new HashMap<>();
+        for (int i = 0; i < 1200; i++) {
+            values.put("page" + i, new GetPlaylistsResponse());
+        }
+        tier.putAll(CacheConfig.PLAYLISTS, values, 60);
+        playlists.put("local", new GetPlaylistsResponse());
+        tier.put(CacheConfig.PLAYLIST, "pl1", playlist("pl1"), 60);
+
+        playlists.clear();
+
+        assertEquals(0, playlists.getNativeCache().estimatedSize());
+        try (RedisConnection connection = connection()) {
+            assertEquals(Long.valueOf(1), connection.serverCommands().dbSize(), "按前缀分批删除，不影响其他缓存");
+        }
+        assertNotNull(raw("vod.playlist:pl1"));
+    }
+
+    // ---------------------------------------------------------------------
+    // 跨实例失效通知
+    // ---------------------------------------------------------------------
+
+    @Test
+    void invalidatesLocalCachesOfOtherInstances() throws Exception {
+        Instance first = new Instance();
+        Instance second = new Instance();
+        for (Instance instance : Arrays.asList(first, second)) {
+            instance.playlist.put("pl1", playlist("pl1"));
+            instance.playlist.put("pl2", playlist("pl2"));
+            instance.playlists.put("page1", new GetPlaylistsResponse());
+        }
+
+        first.invalidator.onPlaylistChanged(new PlaylistChangedEvent("pl1"));
+
+        PlaylistChangedEvent event = (PlaylistChangedEvent) second.events.poll(5, TimeUnit.SECONDS);
+        assertNotNull(event, "其他实例收到失效通知");
+        assertTrue(event.isRemote());
+        assertEquals(Collections.singleton("pl1"), event.getPlaylistIds());
+        assertNull(second.playlist.getNativeCache().getIfPresent("pl1"));
+        assertNotNull(second.playlist.getNativeCache().getIfPresent("pl2"), "只清除被修改的播单");
+        assertEquals(0, second.playlists.getNativeCache().estimatedSize());
+
+        assertNull(first.events.poll(200, TimeUnit.MILLISECONDS), "忽略本实例发出的通知");
+        assertNotNull(first.playlist.getNativeCache().getIfPresent("pl1"));
+        assertNotNull(first.playlists.getNativeCache().getIfPresent("page1"));
+    }
+
+    @Test
+    void doesNotRepublishRemoteEvents() throws Exception {
+        Instance first = new Instance();
+        Instance second = new Instance();
+
+        second.invalidator.onPlaylistChanged(new PlaylistChangedEvent("pl1", true));
+
+        assertNull(first.events.poll(300, TimeUnit.MILLISECONDS), "其他实例转发的事件不再广播");
+        assertTrue(second.events.isEmpty());
+    }
+
+    // ---------------------------------------------------------------------
+    // Redis 不可用
+    // ---------------------------------------------------------------------
+
+    @Test
+    void backsOffWhileRedisIsUnavailable() throws Exception {
+        SharedCacheTier tier = tier(freePort(), 300);
+        TwoLevelCache cache = twoLevelCache(CacheConfig.PLAYLIST, tier);
+
+        assertNull(tier.get(CacheConfig.PLAYLIST, "pl1", GetPlaylistResponse.class), "调用失败按未命中处理");
+        assertEquals(1, count(CacheConfig.PLAYLIST, "error"));
+
+        assertPlaylist(cache.get("pl1", () -> playlist("pl1")), "pl1");
+        cache.evict("pl1");
+        cache.clear();
+        tier.publish("ignored");
+        assertEquals(1, count(CacheConfig.PLAYLIST, "error"), "退避期间不访问 Redis");
+
+        Thread.sleep(400);
+        assertNull(tier.get(CacheConfig.PLAYLIST, "pl1", GetPlaylistResponse.class));
+        assertEquals(2, count(CacheConfig.PLAYLIST, "error"), "退避结束后重新尝试");
+    }
+
+    @Test
+    void recoversAfterBackoff() throws Exception {
+        int unavailablePort = freePort();
+        SharedCacheTier tier = tier(unavailablePort, 300);
+        assertNull(tier.get(CacheConfig.PLAYLIST, "pl1", GetPlaylistResponse.class));
+
+        RedisServer restarted = RedisServer.newRedisServer().port(unavailablePort).bind("127.0.0.1").setting("save \"\"").build();
+        restarted.start();
+        try {
+            tier.put(CacheConfig.PLAYLIST, "pl1", playlist("pl1"), 60);
+            assertNull(tier.get(CacheConfig.PLAYLIST, "pl1", GetPlaylistResponse.class), "退避期间跳过共享缓存");
+
+            Thread.sleep(400);
+            tier.put(CacheConfig.PLAYLIST, "pl1", playlist("pl1"), 60);
+            assertPlaylist(tier.get(CacheConfig.PLAYLIST, "pl1", GetPlaylistResponse.class), "pl1");
+        } finally {
+            restarted.stop();
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // 辅助方法
+    // ---------------------------------------------------------------------
+
+    /**
+     * 一个应用实例：独立的 Redis 连接、两级缓存与失效通知订阅
+     */
+    private class Instance {
+
+        final TwoLevelCache playlist;
+
+        final TwoLevelCache playlists;
+
+        final SharedCacheInvalidator invalidator;
+
+        final BlockingQueue<Object> events = new LinkedBlockingQueue<>();
+
+        Instance() throws Exception {
+            LettuceConnectionFactory connectionFactory = connectionFactory(port);
+            SharedCacheTier tier = new SharedCacheTier(connectionFactory, sharedCacheConfig(5000), meterRegistry);
+            playlist = twoLevelCache(CacheConfig.PLAYLIST, tier);
+            playlists = twoLevelCache(CacheConfig.PLAYLISTS, tier);
+            SimpleCacheManager cacheManager = new SimpleCacheManager();
+            cacheManager.setCaches(Arrays.asList(playlist, playlists));
+            cacheManager.afterPropertiesSet();
+            invalidator = new SharedCacheInvalidator(tier, cacheManager, events::add);
+
+            RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+            container.setConnectionFactory(connectionFactory);
+            container.addMessageListener(invalidator, new ChannelTopic(sharedCacheConfig(5000).getChannel()));
+            container.afterPropertiesSet();
+            container.start();
+            containers.add(container);
+            awaitSubscribers(containers.size());
+        }
+    }
+
+    /**
+     * 订阅在后台建立，等待失效通知频道的订阅数达到预期；探测消息不含分隔符，会被失效通知忽略
+     */
+    private void awaitSubscribers(int expected) throws InterruptedException {
+        byte[] channel = sharedCacheConfig(5000).getChannel().getBytes(StandardCharsets.UTF_8);
+        long deadline = System.currentTimeMillis() + 5000;
+        long subscribers = 0;
+        while (System.currentTimeMillis() < deadline) {
+            try (RedisConnection connection = connection()) {
+                Long received = connection.publish(channel, "probe".getBytes(StandardCharsets.UTF_8));
+                subscribers = received != null ? received : 0;
+            }
+            if (subscribers >= expected) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        assertEquals(expected, subscribers, "订阅失效通知频道");
+    }
+
+    private SharedCacheTier tier(int redisPort, long errorBackoffMillis) {
+        return new SharedCacheTier(connectionFactory(redisPort), sharedCacheConfig(errorBackoffMillis), meterRegistry);
+    }
+
+    private LettuceConnectionFactory connectionFactory(int redisPort) {
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("127.0.0.1", redisPort));
+        connectionFactory.afterPropertiesSet();
+        connectionFactories.add(connectionFactory);
+        return connectionFactory;
+    }
+
+    private static VodConfig.SharedCache sharedCacheConfig(long errorBackoffMillis) {
+        VodConfig.SharedCache config = new VodConfig.SharedCache();
+        config.setEnabled(true);
+        config.setKeyPrefix(KEY_PREFIX);
+        config.setChannel(KEY_PREFIX + "cache:invalidate");
+        config.setErrorBackoffMillis(errorBackoffMillis);
+        return config;
+    }
+
+    private static TwoLevelCache twoLevelCache(String name, SharedCacheTier tier) {
+        Class<?> valueType = CacheConfig.PLAYLIST.equals(name) ? GetPlaylistResponse.class : GetPlaylistsResponse.class;
+        return new TwoLevelCache(new CaffeineCache(name, Caffeine.newBuilder().build()), tier, valueType, 60);
+    }
+
+    private RedisConnection connection() {
+        return connectionFactory(port).getConnection();
+    }
+
+    private byte[] raw(String key) {
+        try (RedisConnection connection = connection()) {
+            return connection.stringCommands().get(key(key));
+        }
+    }
+
+    private static byte[] key(String key) {
+        return (KEY_PREFIX + key).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private double count(String cacheName, String result) {
+        Counter counter = meterRegistry.find("vod.cache.shared").tag("cache", cacheName).tag("result", result).counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    private static GetPlaylistResponse playlist(String playlistId, String... videoIds) {
+        GetPlaylistResponse playlist = new GetPlaylistResponse();
+        playlist.setRequestId("req-" + playlistId);
+        playlist.setPlaylistId(playlistId);
+        playlist.setPlaylistName("播单 " + playlistId);
+        List<GetPlaylistResponse.PlaylistItemDO> items = new ArrayList<>();
+        for (String videoId : videoIds) {
+            GetPlaylistResponse.PlaylistItemDO item = new GetPlaylistResponse.PlaylistItemDO();
+            item.setVideoId(videoId);
+            item.setTitle("视频 " + videoId);
+            items.add(item);
+        }
+        playlist.setPlaylistVideos(items);
+        return playlist;
+    }
+
+    private static void assertPlaylist(GetPlaylistResponse playlist, String playlistId, String... videoIds) {
+        assertNotNull(playlist);
+        assertEquals("req-" + playlistId, playlist.getRequestId());
+        assertEquals(playlistId, playlist.getPlaylistId());
+        assertEquals("播单 " + playlistId, playlist.getPlaylistName());
+        assertEquals(videoIds.length, playlist.getPlaylistVideos().size());
+        for (int i = 0; i < videoIds.length; i++) {
+            assertEquals(videoIds[i], playlist.getPlaylistVideos().get(i).getVideoId());
+            assertEquals("视频 " + videoIds[i], playlist.getPlaylistVideos().get(i).getTitle());
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}